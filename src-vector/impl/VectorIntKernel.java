@@ -0,0 +1,86 @@
+package impl;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link IntKernel} written against the incubating Vector API, using the widest int vectors the CPU supports.
+ * Each loop handles whole vectors and finishes the tail with the scalar loop of the superclass.
+ *
+ * This class needs jdk.incubator.vector, so it is kept out of src and compiled on its own, onto the same
+ * classpath as the rest:
+ *   javac --add-modules jdk.incubator.vector -cp out -d out src-vector/impl/VectorIntKernel.java
+ * and only used when the JVM is started with --add-modules jdk.incubator.vector.
+ */
+class VectorIntKernel extends IntKernel {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;    //half as many lanes
+
+    VectorIntKernel() {
+    }
+
+    @Override
+    public String name() {
+        return "vector " + INTS;
+    }
+
+    // Lanes are widened to long before adding, as the int lanes could overflow.
+    @Override
+    public long sum(int[] a, int from, int to) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        for (int upper = to - INTS.length(); i <= upper; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, a, i);
+            acc = acc.add((LongVector) v.convertShape(VectorOperators.I2L, LONGS, 0));
+            acc = acc.add((LongVector) v.convertShape(VectorOperators.I2L, LONGS, 1));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + super.sum(a, i, to);
+    }
+
+    @Override
+    public int min(int[] a, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int i = from;
+        for (int upper = to - INTS.length(); i <= upper; i += INTS.length()) {
+            acc = acc.min(IntVector.fromArray(INTS, a, i));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), super.min(a, i, to));
+    }
+
+    @Override
+    public int max(int[] a, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = from;
+        for (int upper = to - INTS.length(); i <= upper; i += INTS.length()) {
+            acc = acc.max(IntVector.fromArray(INTS, a, i));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), super.max(a, i, to));
+    }
+
+    @Override
+    public int firstIndexOf(int[] a, int from, int to, int value) {
+        int i = from;
+        for (int upper = to - INTS.length(); i <= upper; i += INTS.length()) {
+            VectorMask<Integer> hits = IntVector.fromArray(INTS, a, i).eq(value);
+            if (hits.anyTrue()) {
+                return i + hits.firstTrue();
+            }
+        }
+        return super.firstIndexOf(a, i, to, value);
+    }
+
+    @Override
+    public int lastIndexOf(int[] a, int from, int to, int value) {
+        int i = to;
+        for (int lower = from + INTS.length(); i >= lower; i -= INTS.length()) {
+            VectorMask<Integer> hits = IntVector.fromArray(INTS, a, i - INTS.length()).eq(value);
+            if (hits.anyTrue()) {
+                return i - INTS.length() + hits.lastTrue();
+            }
+        }
+        return super.lastIndexOf(a, from, i, value);
+    }
+}
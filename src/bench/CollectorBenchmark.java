@@ -0,0 +1,54 @@
+package bench;
+
+import java.util.Arrays;
+import java.util.List;
+
+import impl.DoubleStackQueue;
+import impl.StackCollectors;
+
+/**
+ * Time to load a DoubleStackQueue from a list: an enqueue loop against StackCollectors.toDoubleStackQueue()
+ * on a sequential and on a parallel stream. The parallel figure scales with the common pool's parallelism.
+ *
+ * Usage: java bench.CollectorBenchmark [elements]
+ */
+public final class CollectorBenchmark {
+
+    private static final int ROUNDS = 10;
+
+    private CollectorBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Integer[] values = new Integer[elements];
+        Arrays.setAll(values, i -> i);
+        List<Object> source = Arrays.asList((Object[]) values);
+
+        System.out.printf("%d elements, parallelism %d%n", elements, Runtime.getRuntime().availableProcessors());
+        report("enqueue loop", () -> {
+            DoubleStackQueue q = new DoubleStackQueue(elements);
+            for (Object o : source) {
+                q.enqueue(o);
+            }
+            return q;
+        });
+        report("sequential collect", () -> source.stream().collect(StackCollectors.toDoubleStackQueue()));
+        report("parallel collect", () -> source.parallelStream().collect(StackCollectors.toDoubleStackQueue()));
+    }
+
+    private interface Load {
+        DoubleStackQueue run() throws Exception;
+    }
+
+    private static void report(String name, Load load) throws Exception {
+        long best = Long.MAX_VALUE;
+        int sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            sink += load.run().size();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-20s %8.2f ms (%d)%n", name, best / 1e6, sink / ROUNDS);
+    }
+}
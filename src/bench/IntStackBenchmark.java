@@ -0,0 +1,68 @@
+package bench;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import impl.IntKernel;
+
+/**
+ * The bulk operations of IntStack and IntQueue, timed for the scalar kernel and for the kernel the structures
+ * actually use. Run it three ways to compare:
+ *   java -XX:-UseSuperWord bench.IntStackBenchmark      scalar loops with C2's auto-vectorizer off
+ *   java bench.IntStackBenchmark                        scalar loops with it on; on JDK 17 these rows match
+ *                                                       the ones above, as SuperWord leaves the loops scalar
+ *   java --add-modules jdk.incubator.vector bench.IntStackBenchmark
+ *                                                       adds a row for the Vector API kernel, which needs
+ *                                                       src-vector compiled onto the classpath
+ *
+ * Usage: java bench.IntStackBenchmark [elements]
+ */
+public final class IntStackBenchmark {
+
+    private static final int ROUNDS = 200;
+
+    private IntStackBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int[] data = new int[elements];
+        for (int i = 0; i < elements; i++) {
+            data[i] = i * 31 % 1_000_003;
+        }
+        String superWord = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class)
+                .getVMOption("UseSuperWord").getValue();
+        System.out.printf("%d elements, UseSuperWord=%s%n", elements, superWord);
+
+        IntKernel scalar = IntKernel.scalar();
+        IntKernel preferred = IntKernel.preferred();
+        run(scalar, data);
+        if (preferred != scalar) {
+            run(preferred, data);
+        }
+    }
+
+    private static void run(IntKernel kernel, int[] data) {
+        int n = data.length;
+        report(kernel, "sum", () -> kernel.sum(data, 0, n));
+        report(kernel, "min", () -> kernel.min(data, 0, n));
+        report(kernel, "max", () -> kernel.max(data, 0, n));
+        report(kernel, "indexOf (absent)", () -> kernel.lastIndexOf(data, 0, n, -1));
+    }
+
+    private interface Op {
+        long run();
+    }
+
+    private static void report(IntKernel kernel, String name, Op op) {
+        long best = Long.MAX_VALUE;
+        long sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            sink += op.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-34s %-18s %10.1f us (%d)%n", kernel.name(), name, best / 1e3, sink / ROUNDS);
+    }
+}
@@ -0,0 +1,374 @@
+package bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+import common.FactoryLoader;
+import common.QueueEmptyException;
+import common.QueueFullException;
+import common.StackEmptyException;
+import common.StackOverflowException;
+import impl.Histogram;
+import interfaces.IFactory;
+import interfaces.IQueue;
+import interfaces.IStack;
+
+/**
+ * Drives a queue or stack built by the configured IFactory with a recorded trace or a synthetic workload,
+ * on 1..N threads, and prints throughput, latency percentiles, GC activity and allocation per operation as
+ * JSON, one object per thread count, so that a release check can compare the numbers with a baseline.
+ *
+ * Scheduled operations (trace, poisson, bursty) are timed from when they were due rather than from when
+ * they started, so a stall shows up in the latency of every operation it delayed.
+ *
+ * Usage: java bench.LoadGenerator [--option value]...
+ *   --structure   doubleStackQueue | spsc | striped | coDel | versionedQueue | stack | versionedStack
+ *   --workload    closed | poisson | bursty | trace       (default closed)
+ *   --trace       file of "offsetNanos op [thread]" lines; implies --workload trace
+ *   --threads     number of threads (default 1)
+ *   --sweep       true to run 1, 2, 4 .. --threads threads
+ *   --operations  operations per thread (default 1000000)
+ *   --rate        total operations per second for poisson and bursty (default 1000000)
+ *   --burst       operations per arrival for bursty (default 32)
+ *   --insert-ratio share of inserts in synthetic workloads (default 0.5)
+ *   --capacity    capacity of the structure (default 65536)
+ *   --prefill     elements inserted before the run (default capacity / 2)
+ *   --warmup      unmeasured operations per thread before the run (default 100000)
+ *   --seed        random seed (default 1)
+ *   --out         file to write the JSON to instead of standard output
+ */
+public final class LoadGenerator {
+
+    private static final Object ELEMENT = Boolean.TRUE;
+    private static final long SPIN_THRESHOLD_NANOS = 50_000;    //park when an operation is due later than this
+    private static final List<String> THREAD_SAFE = List.of("striped");
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String structure = options.getOrDefault("structure", "doubleStackQueue");
+        String workload = options.containsKey("trace") ? "trace" : options.getOrDefault("workload", "closed");
+        int maxThreads = Integer.parseInt(options.getOrDefault("threads", "1"));
+        boolean sweep = Boolean.parseBoolean(options.getOrDefault("sweep", "false"));
+
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; sweep && threads < maxThreads; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(maxThreads);
+
+        StringBuilder json = new StringBuilder("{\"runs\":[");
+        for (int i = 0; i < threadCounts.size(); i++) {
+            json.append(i == 0 ? "" : ",").append(run(options, structure, workload, threadCounts.get(i)));
+        }
+        json.append("]}");
+
+        if (options.containsKey("out")) {
+            Files.writeString(Path.of(options.get("out")), json + System.lineSeparator(), StandardCharsets.UTF_8);
+        } else {
+            System.out.println(json);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static String run(Map<String, String> options, String structure, String workload, int threads)
+            throws Exception {
+        int operations = Integer.parseInt(options.getOrDefault("operations", "1000000"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "1000000"));
+        int burst = Integer.parseInt(options.getOrDefault("burst", "32"));
+        double insertRatio = Double.parseDouble(options.getOrDefault("insert-ratio", "0.5"));
+        int capacity = Integer.parseInt(options.getOrDefault("capacity", "65536"));
+        int prefill = Integer.parseInt(options.getOrDefault("prefill", String.valueOf(capacity / 2)));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "100000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+
+        Workload[] plan;
+        switch (workload) {
+            case "closed":
+                plan = Workload.closed(threads, operations, insertRatio, seed);
+                break;
+            case "poisson":
+                plan = Workload.poisson(threads, operations, rate, 1, insertRatio, seed);
+                break;
+            case "bursty":
+                plan = Workload.poisson(threads, operations, rate, burst, insertRatio, seed);
+                break;
+            case "trace":
+                plan = Workload.trace(Path.of(options.get("trace")), threads);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown workload " + workload);
+        }
+
+        Target target = target(FactoryLoader.load(), structure, threads, capacity);
+        for (int i = 0; i < prefill; i++) {
+            target.insert();
+        }
+        Workload[] warm = Workload.closed(threads, warmup, 0.5, seed - 1);
+
+        Worker[] workers = new Worker[threads];
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Worker(t, target, warm[t], plan[t], ready, go);
+            workers[t].start();
+        }
+        ready.await();
+        long gcCount = gcCount();
+        long gcMillis = gcMillis();
+        long start = System.nanoTime();
+        for (Worker w : workers) {
+            w.start = start;
+        }
+        go.countDown();
+        Histogram latency = new Histogram();
+        long rejected = 0;
+        long allocated = 0;
+        for (Worker w : workers) {
+            w.join();
+            if (w.failure != null) {
+                throw new IllegalStateException("worker failed", w.failure);
+            }
+            latency.add(w.latency);
+            rejected += w.rejected;
+            allocated = allocated < 0 || w.allocated < 0 ? -1 : allocated + w.allocated;
+        }
+        long elapsed = System.nanoTime() - start;
+        long completed = latency.count();
+
+        return String.format(Locale.ROOT,
+                "{\"structure\":\"%s\",\"factory\":\"%s\",\"workload\":\"%s\",\"threads\":%d,\"operations\":%d,"
+                        + "\"rejected\":%d,\"durationNanos\":%d,\"throughputOpsPerSec\":%.1f,"
+                        + "\"latencyNanos\":{\"p50\":%d,\"p99\":%d,\"p999\":%d,\"max\":%d,\"mean\":%.1f},"
+                        + "\"gc\":{\"collections\":%d,\"timeMillis\":%d},\"allocatedBytesPerOp\":%s}",
+                structure, FactoryLoader.configuredName(), workload, threads, completed, rejected, elapsed,
+                completed * 1e9 / elapsed, latency.percentile(50), latency.percentile(99),
+                latency.percentile(99.9), latency.max(), latency.mean(), gcCount() - gcCount,
+                gcMillis() - gcMillis,
+                allocated < 0 ? "null" : String.format(Locale.ROOT, "%.2f", (double) allocated / completed));
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    // Bytes allocated by the current thread so far, or -1 where the JVM cannot tell.
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts into or removes from the structure under test; false when it was full or empty.
+     */
+    private interface Target {
+        boolean insert();
+
+        boolean remove();
+    }
+
+    private static Target target(IFactory factory, String structure, int threads, int capacity) {
+        Target target;
+        switch (structure) {
+            case "doubleStackQueue":
+                target = queue(factory.makeDoubleStackQueue(capacity));
+                break;
+            case "spsc":
+                target = queue(factory.makeSpscQueue(capacity));
+                break;
+            case "striped":
+                target = queue(factory.makeStripedQueue(threads, capacity));
+                break;
+            case "coDel":
+                target = queue(factory.makeCoDelQueue(capacity, 5_000_000, 100_000_000));
+                break;
+            case "versionedQueue":
+                target = queue(factory.makeVersionedQueue(capacity));
+                break;
+            case "stack":
+                target = stack(factory.makeDoubleStack(2 * capacity).getFirstStack());
+                break;
+            case "versionedStack":
+                target = stack(factory.makeVersionedStack(capacity));
+                break;
+            default:
+                throw new IllegalArgumentException("unknown structure " + structure);
+        }
+        return threads == 1 || THREAD_SAFE.contains(structure) ? target : synchronize(target);
+    }
+
+    private static Target queue(IQueue q) {
+        return new Target() {
+            @Override
+            public boolean insert() {
+                try {
+                    q.enqueue(ELEMENT);
+                    return true;
+                } catch (QueueFullException full) {
+                    return false;
+                }
+            }
+
+            @Override
+            public boolean remove() {
+                try {
+                    q.dequeue();
+                    return true;
+                } catch (QueueEmptyException empty) {
+                    return false;
+                }
+            }
+        };
+    }
+
+    private static Target stack(IStack s) {
+        return new Target() {
+            @Override
+            public boolean insert() {
+                try {
+                    s.push(ELEMENT);
+                    return true;
+                } catch (StackOverflowException full) {
+                    return false;
+                }
+            }
+
+            @Override
+            public boolean remove() {
+                try {
+                    s.pop();
+                    return true;
+                } catch (StackEmptyException empty) {
+                    return false;
+                }
+            }
+        };
+    }
+
+    private static Target synchronize(Target target) {
+        return new Target() {
+            @Override
+            public synchronized boolean insert() {
+                return target.insert();
+            }
+
+            @Override
+            public synchronized boolean remove() {
+                return target.remove();
+            }
+        };
+    }
+
+    /**
+     * Runs one thread's warm-up and workload, recording the latency of every measured operation.
+     */
+    private static final class Worker extends Thread {
+        private final Target target;
+        private final Workload warmup;
+        private final Workload workload;
+        private final CountDownLatch ready;
+        private final CountDownLatch go;
+        private final Histogram latency = new Histogram();
+        private volatile long start;
+        private long rejected;
+        private long allocated;
+        private Throwable failure;
+
+        Worker(int index, Target target, Workload warmup, Workload workload, CountDownLatch ready,
+               CountDownLatch go) {
+            super("load-" + index);
+            this.target = target;
+            this.warmup = warmup;
+            this.workload = workload;
+            this.ready = ready;
+            this.go = go;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < warmup.size(); i++) {
+                    apply(warmup.isInsert(i));
+                }
+                ready.countDown();
+                go.await();
+                long origin = start;
+                long allocatedBefore = allocatedBytes();
+                for (int i = 0; i < workload.size(); i++) {
+                    long due = workload.due(i);
+                    long begin;
+                    if (due == Workload.UNSCHEDULED) {
+                        begin = System.nanoTime();
+                    } else {
+                        begin = origin + due;
+                        waitUntil(begin);
+                    }
+                    if (!apply(workload.isInsert(i))) {
+                        rejected++;
+                    }
+                    latency.record(Math.max(0, System.nanoTime() - begin));
+                }
+                long allocatedAfter = allocatedBytes();
+                allocated = allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
+            } catch (Throwable t) {
+                failure = t;
+                ready.countDown();
+            }
+        }
+
+        private boolean apply(boolean insert) {
+            return insert ? target.insert() : target.remove();
+        }
+
+        private static void waitUntil(long deadline) {
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                if (remaining > SPIN_THRESHOLD_NANOS) {
+                    LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import impl.DoubleStackQueue;
+import impl.MappedFileQueue;
+import impl.MappedFileQueue.FsyncPolicy;
+import impl.Serializers;
+import interfaces.IQueue;
+
+/**
+ * Compares enqueue/dequeue throughput of the memory-mapped queue under each fsync policy
+ * against the in-memory DoubleStackQueue.
+ *
+ * Usage: java bench.MappedFileQueueBenchmark [operations] [batch]
+ */
+public final class MappedFileQueueBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    private MappedFileQueueBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int batch = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+
+        report("DoubleStackQueue", operations, batch, () -> new DoubleStackQueue(batch));
+        for (FsyncPolicy policy : FsyncPolicy.values()) {
+            Path dir = Files.createTempDirectory("mapped-queue-bench");
+            try {
+                report("MappedFileQueue/" + policy, operations, batch, () -> new MappedFileQueue(dir, batch,
+                        Serializers.INTEGER, MappedFileQueue.DEFAULT_SEGMENT_SIZE, policy, 1_000));
+            } finally {
+                delete(dir);
+            }
+        }
+    }
+
+    private interface QueueSupplier {
+        IQueue get() throws Exception;
+    }
+
+    // Fills the queue with a batch and drains it again until the operation count is reached.
+    private static void report(String name, int operations, int batch, QueueSupplier supplier) throws Exception {
+        IQueue q = supplier.get();
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int done = 0; done < operations; done += batch) {
+                for (int i = 0; i < batch; i++) {
+                    q.enqueue(i);
+                }
+                for (int i = 0; i < batch; i++) {
+                    q.dequeue();
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (q instanceof AutoCloseable) {
+            ((AutoCloseable) q).close();
+        }
+        System.out.printf("%-26s %8.1f ns/op%n", name, (double) best / (2L * operations));
+    }
+
+    private static void delete(Path dir) throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
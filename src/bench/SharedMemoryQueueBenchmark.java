@@ -0,0 +1,177 @@
+package bench;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.RecordCodecs;
+import impl.SharedMemoryQueue;
+import interfaces.IQueue;
+
+/**
+ * Round-trip latency of a ping-pong through a pair of SharedMemoryQueues against the same exchange over
+ * loopback TCP. By default the echo side runs on a thread; with --fork it runs in a second JVM.
+ *
+ * Usage: java bench.SharedMemoryQueueBenchmark [rounds] [--fork]
+ */
+public final class SharedMemoryQueueBenchmark {
+
+    private static final int CAPACITY = 1024;
+    private static final int SPINS_BEFORE_YIELD = 1_000;
+
+    private SharedMemoryQueueBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("echo-shm")) {
+            echoShm(Path.of(args[1]), Path.of(args[2]), Long.parseLong(args[3]));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("echo-tcp")) {
+            echoTcp(Integer.parseInt(args[1]), Long.parseLong(args[2]));
+            return;
+        }
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 200_000;
+        boolean fork = Arrays.asList(args).contains("--fork");
+
+        Path ping = SharedMemoryQueue.defaultPath("sq-bench-ping-" + ProcessHandle.current().pid());
+        Path pong = SharedMemoryQueue.defaultPath("sq-bench-pong-" + ProcessHandle.current().pid());
+        try (SharedMemoryQueue out = new SharedMemoryQueue(ping, CAPACITY, RecordCodecs.LONG);
+             SharedMemoryQueue in = new SharedMemoryQueue(pong, CAPACITY, RecordCodecs.LONG)) {
+            Runnable echo = () -> run(() -> echoShm(ping, pong, rounds));
+            Process child = fork ? start("echo-shm", ping.toString(), pong.toString(), String.valueOf(rounds)) : null;
+            Thread thread = fork ? null : start(echo);
+            long start = System.nanoTime();
+            for (long i = 0; i < rounds; i++) {
+                put(out, i);
+                take(in);
+            }
+            report("shared memory", System.nanoTime() - start, rounds);
+            finish(child, thread);
+        } finally {
+            Files.deleteIfExists(ping);
+            Files.deleteIfExists(pong);
+        }
+
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            int port = server.getLocalPort();
+            Process child = fork ? start("echo-tcp", String.valueOf(port), String.valueOf(rounds)) : null;
+            Thread thread = fork ? null : start(() -> run(() -> echoTcp(port, rounds)));
+            try (Socket socket = server.accept()) {
+                socket.setTcpNoDelay(true);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                long start = System.nanoTime();
+                for (long i = 0; i < rounds; i++) {
+                    out.writeLong(i);
+                    out.flush();
+                    in.readLong();
+                }
+                report("loopback TCP", System.nanoTime() - start, rounds);
+            }
+            finish(child, thread);
+        }
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private static void run(Task task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void echoShm(Path ping, Path pong, long rounds) throws IOException {
+        try (SharedMemoryQueue in = new SharedMemoryQueue(ping, CAPACITY, RecordCodecs.LONG);
+             SharedMemoryQueue out = new SharedMemoryQueue(pong, CAPACITY, RecordCodecs.LONG)) {
+            for (long i = 0; i < rounds; i++) {
+                put(out, take(in));
+            }
+        }
+    }
+
+    private static void echoTcp(int port, long rounds) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            for (long i = 0; i < rounds; i++) {
+                out.writeLong(in.readLong());
+                out.flush();
+            }
+        }
+    }
+
+    private static void put(IQueue q, Object value) {
+        for (int spins = 0; ; spins++) {
+            try {
+                q.enqueue(value);
+                return;
+            } catch (QueueFullException full) {
+                backOff(spins);
+            }
+        }
+    }
+
+    private static Object take(IQueue q) {
+        for (int spins = 0; ; spins++) {
+            try {
+                return q.dequeue();
+            } catch (QueueEmptyException empty) {
+                backOff(spins);
+            }
+        }
+    }
+
+    // Spins briefly, then yields so that the other side can run when both share a core.
+    private static void backOff(int spins) {
+        if (spins < SPINS_BEFORE_YIELD) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+
+    private static Thread start(Runnable echo) {
+        Thread thread = new Thread(echo, "echo");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static Process start(String... echoArgs) throws IOException {
+        String[] command = new String[4 + echoArgs.length];
+        command[0] = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        command[1] = "-cp";
+        command[2] = System.getProperty("java.class.path");
+        command[3] = SharedMemoryQueueBenchmark.class.getName();
+        System.arraycopy(echoArgs, 0, command, 4, echoArgs.length);
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+
+    private static void finish(Process child, Thread thread) throws InterruptedException {
+        if (child != null) {
+            child.waitFor();
+        } else {
+            thread.join();
+        }
+    }
+
+    private static void report(String name, long nanos, long rounds) {
+        System.out.printf("%-16s %8.0f ns round trip%n", name, (double) nanos / rounds);
+    }
+}
@@ -0,0 +1,98 @@
+package bench;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.DoubleStackQueue;
+import impl.SpscArrayQueue;
+import interfaces.IQueue;
+
+/**
+ * Two-thread throughput of the padded SpscArrayQueue against a DoubleStackQueue guarded by a lock.
+ *
+ * Usage: java bench.SpscQueueBenchmark [operations] [capacity]
+ */
+public final class SpscQueueBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    private SpscQueueBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+
+        report("SpscArrayQueue", operations, new SpscArrayQueue(capacity));
+        report("synchronized DoubleStackQueue", operations, new Locked(new DoubleStackQueue(capacity)));
+    }
+
+    private static void report(String name, int operations, IQueue q) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            Thread producer = new Thread(() -> {
+                Object item = Boolean.TRUE;
+                for (int i = 0; i < operations; i++) {
+                    while (true) {
+                        try {
+                            q.enqueue(item);
+                            break;
+                        } catch (QueueFullException full) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            long start = System.nanoTime();
+            producer.start();
+            for (int i = 0; i < operations; i++) {
+                while (true) {
+                    try {
+                        q.dequeue();
+                        break;
+                    } catch (QueueEmptyException empty) {
+                        Thread.yield();
+                    }
+                }
+            }
+            producer.join();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-30s %8.1f Mops/s%n", name, operations * 1e3 / best);
+    }
+
+    /**
+     * Serialises every call on the queue's monitor.
+     */
+    private static final class Locked implements IQueue {
+        private final IQueue q;
+
+        Locked(IQueue q) {
+            this.q = q;
+        }
+
+        @Override
+        public synchronized void enqueue(Object element) throws QueueFullException {
+            q.enqueue(element);
+        }
+
+        @Override
+        public synchronized Object dequeue() throws QueueEmptyException {
+            return q.dequeue();
+        }
+
+        @Override
+        public synchronized int size() {
+            return q.size();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return q.isEmpty();
+        }
+
+        @Override
+        public synchronized void clear() {
+            q.clear();
+        }
+    }
+}
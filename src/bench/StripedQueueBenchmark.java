@@ -0,0 +1,135 @@
+package bench;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.DoubleStackQueue;
+import impl.StripedQueue;
+import interfaces.IQueue;
+
+/**
+ * Throughput of a StripedQueue against a single DoubleStackQueue behind one lock, with 1..N producer threads
+ * and as many consumer threads.
+ *
+ * Usage: java bench.StripedQueueBenchmark [maxThreads] [operationsPerThread]
+ */
+public final class StripedQueueBenchmark {
+
+    private static final int ROUNDS = 3;
+    private static final int CAPACITY = 1 << 16;
+
+    private StripedQueueBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        System.out.printf("%-8s %16s %16s%n", "threads", "striped Mops/s", "locked Mops/s");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double striped = run(new StripedQueue(maxThreads, CAPACITY), threads, operations);
+            double locked = run(new Locked(new DoubleStackQueue(CAPACITY)), threads, operations);
+            System.out.printf("%-8d %16.1f %16.1f%n", threads, striped, locked);
+        }
+    }
+
+    private static double run(IQueue q, int threads, int operations) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            Thread[] workers = new Thread[2 * threads];
+            for (int t = 0; t < threads; t++) {
+                workers[t] = new Thread(() -> {
+                    for (int i = 0; i < operations; i++) {
+                        while (true) {
+                            try {
+                                q.enqueue(Boolean.TRUE);
+                                break;
+                            } catch (QueueFullException full) {
+                                Thread.yield();
+                            }
+                        }
+                    }
+                });
+                workers[threads + t] = new Thread(() -> {
+                    for (int i = 0; i < operations; i++) {
+                        while (true) {
+                            try {
+                                q.dequeue();
+                                break;
+                            } catch (QueueEmptyException empty) {
+                                Thread.yield();
+                            }
+                        }
+                    }
+                });
+            }
+            long start = System.nanoTime();
+            for (Thread w : workers) {
+                w.start();
+            }
+            for (Thread w : workers) {
+                w.join();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return (double) threads * operations * 1e3 / best;
+    }
+
+    /**
+     * A queue whose every operation holds one lock.
+     */
+    private static final class Locked implements IQueue {
+        private final IQueue queue;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        Locked(IQueue queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void enqueue(Object element) throws QueueFullException {
+            lock.lock();
+            try {
+                queue.enqueue(element);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public Object dequeue() throws QueueEmptyException {
+            lock.lock();
+            try {
+                return queue.dequeue();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int size() {
+            lock.lock();
+            try {
+                return queue.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public void clear() {
+            lock.lock();
+            try {
+                queue.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The operations one thread of the load generator performs: for each, whether it inserts (enqueue/push) or
+ * removes (dequeue/pop), and when it is due in nanoseconds after the start, or -1 to run it as soon as the
+ * previous one returns.
+ */
+public final class Workload {
+    public static final long UNSCHEDULED = -1;
+
+    private boolean[] inserts;
+    private long[] due;
+    private int size;
+
+    private Workload(int expected) {
+        inserts = new boolean[Math.max(expected, 16)];
+        due = new long[inserts.length];
+    }
+
+    /**
+     * Returns the number of operations.
+     * @return the number of operations
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether an operation inserts.
+     * @param op the index of the operation
+     * @return true for enqueue/push, false for dequeue/pop
+     */
+    public boolean isInsert(int op) {
+        return inserts[op];
+    }
+
+    /**
+     * Returns when an operation is due.
+     * @param op the index of the operation
+     * @return nanoseconds after the start, or UNSCHEDULED
+     */
+    public long due(int op) {
+        return due[op];
+    }
+
+    private void add(boolean insert, long dueNanos) {
+        if (size == inserts.length) {
+            inserts = Arrays.copyOf(inserts, size * 2);
+            due = Arrays.copyOf(due, size * 2);
+        }
+        inserts[size] = insert;
+        due[size] = dueNanos;
+        size++;
+    }
+
+    /**
+     * Back-to-back operations, each an insert with the given probability.
+     */
+    static Workload[] closed(int threads, int operations, double insertRatio, long seed) {
+        Workload[] workloads = new Workload[threads];
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(seed + t);
+            workloads[t] = new Workload(operations);
+            for (int i = 0; i < operations; i++) {
+                workloads[t].add(random.nextDouble() < insertRatio, UNSCHEDULED);
+            }
+        }
+        return workloads;
+    }
+
+    /**
+     * Operations arriving as a Poisson process of the given total rate, shared evenly between the threads.
+     * A burst size above 1 makes every arrival a burst of that many back-to-back operations, with the
+     * arrival rate lowered to keep the same total rate.
+     */
+    static Workload[] poisson(int threads, int operations, double opsPerSecond, int burst, double insertRatio,
+                              long seed) {
+        Workload[] workloads = new Workload[threads];
+        double meanGapNanos = 1e9 * threads * burst / opsPerSecond;
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(seed + t);
+            workloads[t] = new Workload(operations);
+            double time = 0;
+            while (workloads[t].size < operations) {
+                time += -Math.log(1 - random.nextDouble()) * meanGapNanos;
+                for (int b = 0; b < burst && workloads[t].size < operations; b++) {
+                    workloads[t].add(random.nextDouble() < insertRatio, (long) time);
+                }
+            }
+        }
+        return workloads;
+    }
+
+    /**
+     * Operations read from a trace file. Each line is "offsetNanos op [thread]", where op is enqueue, push,
+     * dequeue or pop, and blank lines and lines starting with # are skipped. Lines with a thread column go to
+     * that thread modulo the thread count, the rest are dealt out in turn. An offset of -1 means unscheduled.
+     */
+    public static Workload[] trace(Path file, int threads) throws IOException {
+        Workload[] workloads = new Workload[threads];
+        for (int t = 0; t < threads; t++) {
+            workloads[t] = new Workload(1024);
+        }
+        int next = 0;
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\s+");
+                if (fields.length < 2 || fields.length > 3) {
+                    throw new IOException(file + ":" + lineNumber + ": expected \"offsetNanos op [thread]\"");
+                }
+                boolean insert;
+                switch (fields[1]) {
+                    case "enqueue":
+                    case "push":
+                        insert = true;
+                        break;
+                    case "dequeue":
+                    case "pop":
+                        insert = false;
+                        break;
+                    default:
+                        throw new IOException(file + ":" + lineNumber + ": unknown operation " + fields[1]);
+                }
+                int thread;
+                try {
+                    thread = fields.length == 3 ? Math.floorMod(Integer.parseInt(fields[2]), threads) : next++ % threads;
+                    workloads[thread].add(insert, Long.parseLong(fields[0]));
+                } catch (NumberFormatException e) {
+                    throw new IOException(file + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return workloads;
+    }
+}
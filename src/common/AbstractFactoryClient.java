@@ -1,6 +1,5 @@
 package common;
 
-import impl.Factory;
 import interfaces.IFactory;
 
 /**
@@ -9,13 +8,18 @@ import interfaces.IFactory;
  */
 public abstract class AbstractFactoryClient {
 
-    private static IFactory factory = Factory.getInstance();
+    /**
+     * Holds the factory; it is selected through {@link FactoryLoader} lazily and exactly once, on first use.
+     */
+    private static final class Holder {
+        private static final IFactory FACTORY = FactoryLoader.load();
+    }
 
     /**
      * Method which returns an instance of IFactory.
-     * @return an instance of Factory
+     * @return the configured instance of IFactory
      */
     public static IFactory getFactory() {
-        return factory;
+        return Holder.FACTORY;
     }
 }
@@ -0,0 +1,112 @@
+package common;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import impl.ArrayFactoryProvider;
+import interfaces.IFactory;
+import interfaces.IFactoryProvider;
+
+/**
+ * Selects the {@link IFactory} implementation to use.
+ *
+ * The name is taken from the system property {@value #PROPERTY}, or failing that the environment variable
+ * {@value #ENVIRONMENT}. A name is matched against the {@link IFactoryProvider}s found by {@link ServiceLoader},
+ * or else treated as the class name of an IFactory or IFactoryProvider. When nothing is configured, the
+ * array-based factory is used, whatever other providers are installed.
+ */
+public final class FactoryLoader {
+
+    /** System property naming the factory implementation. */
+    public static final String PROPERTY = "stacksandqueues.factory";
+
+    /** Environment variable naming the factory implementation. */
+    public static final String ENVIRONMENT = "STACKSANDQUEUES_FACTORY";
+
+    private FactoryLoader() {
+    }
+
+    /**
+     * Returns the factory selected by configuration, or the array-based factory when none is configured.
+     * @return the selected factory
+     * @throws IllegalStateException if the configured implementation cannot be found or created
+     */
+    public static IFactory load() {
+        return forName(configuredName());
+    }
+
+    /**
+     * Returns the name of the factory load() selects: the system property if set and not blank, else the
+     * environment variable if set and not blank, else "array".
+     * @return the configured provider or class name
+     */
+    public static String configuredName() {
+        String name = System.getProperty(PROPERTY);
+        if (name == null || name.isBlank()) {
+            name = System.getenv(ENVIRONMENT);
+        }
+        if (name == null || name.isBlank()) {
+            name = ArrayFactoryProvider.NAME;
+        }
+        return name.trim();
+    }
+
+    /**
+     * Returns the factory with the given provider name or implementation class name.
+     * @param name a provider name such as "array", or a fully qualified class name
+     * @return the named factory
+     * @throws IllegalStateException if no such implementation can be found or created
+     */
+    public static IFactory forName(String name) {
+        List<String> known = new ArrayList<>();
+        for (IFactoryProvider provider : providers()) {
+            if (provider.name().equals(name)) {
+                return provider.getFactory();
+            }
+            known.add(provider.name());
+        }
+        if (ArrayFactoryProvider.NAME.equals(name)) {
+            return new ArrayFactoryProvider().getFactory();
+        }
+        try {
+            return instantiate(Class.forName(name));
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unknown factory '" + name + "', available: " + known, e);
+        }
+    }
+
+    private static List<IFactoryProvider> providers() {
+        List<IFactoryProvider> providers = new ArrayList<>();
+        for (IFactoryProvider provider : ServiceLoader.load(IFactoryProvider.class)) {
+            providers.add(provider);
+        }
+        return providers;
+    }
+
+    // Singletons are obtained through their static getInstance() method, anything else through a no-arg constructor.
+    private static IFactory instantiate(Class<?> type) {
+        try {
+            if (IFactoryProvider.class.isAssignableFrom(type)) {
+                return ((IFactoryProvider) type.getConstructor().newInstance()).getFactory();
+            }
+            if (!IFactory.class.isAssignableFrom(type)) {
+                throw new IllegalStateException(type.getName() + " is neither an IFactory nor an IFactoryProvider");
+            }
+            try {
+                Method getInstance = type.getMethod("getInstance");
+                if (Modifier.isStatic(getInstance.getModifiers())
+                        && IFactory.class.isAssignableFrom(getInstance.getReturnType())) {
+                    return (IFactory) getInstance.invoke(null);
+                }
+            } catch (NoSuchMethodException notSingleton) {
+                // fall through to the constructor
+            }
+            return (IFactory) type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create factory " + type.getName(), e);
+        }
+    }
+}
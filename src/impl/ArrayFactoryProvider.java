@@ -0,0 +1,24 @@
+package impl;
+
+import interfaces.IFactory;
+import interfaces.IFactoryProvider;
+
+/**
+ * Provider for the array-based {@link Factory}.
+ *
+ */
+public final class ArrayFactoryProvider implements IFactoryProvider {
+
+    /** Name of the array-based implementation. */
+    public static final String NAME = "array";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public IFactory getFactory() {
+        return Factory.getInstance();
+    }
+}
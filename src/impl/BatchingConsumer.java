@@ -0,0 +1,135 @@
+package impl;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+import java.util.function.ObjIntConsumer;
+
+import common.QueueEmptyException;
+import interfaces.IQueue;
+
+/**
+ * Consumes an {@link IQueue} in batches. Elements are moved from the queue into one reusable array, which is
+ * handed to the sink as soon as it is full, or once the oldest element in it has waited for the linger time.
+ * The sink receives the array and the number of elements in it; it must copy anything it wants to keep,
+ * as the array is cleared and refilled after it returns.
+ *
+ * The consumer does not own a thread. Whoever drives it calls poll() whenever the queue may have new
+ * elements, and can wait up to nanosToDeadline() in between without missing a deadline.
+ * The size of every flushed batch and how long its first element lingered are recorded in histograms,
+ * which show where the throughput/latency trade-off of maxBatch and linger actually lands.
+ */
+public class BatchingConsumer {
+    private IQueue source;
+    private Object[] batch;                 //the reusable batch, elements 0 .. count - 1 are live
+    private int count;
+    private long lingerNanos;               //longest an element waits in the batch before it is flushed
+    private long batchStart;                //when the first element of the current batch was taken
+    private ObjIntConsumer<Object[]> sink;
+    private LongSupplier clock;             //nanosecond time source
+    private Histogram batchSizes = new Histogram();
+    private Histogram lingerTimes = new Histogram();
+
+    public BatchingConsumer(IQueue source, int maxBatch, long lingerNanos, ObjIntConsumer<Object[]> sink) {
+        this(source, maxBatch, lingerNanos, sink, System::nanoTime);
+    }
+
+    public BatchingConsumer(IQueue source, int maxBatch, long lingerNanos, ObjIntConsumer<Object[]> sink,
+                            LongSupplier clock) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch must be positive");
+        }
+        if (lingerNanos < 0) {
+            throw new IllegalArgumentException("lingerNanos must not be negative");
+        }
+        this.source = source;
+        this.batch = new Object[maxBatch];
+        this.lingerNanos = lingerNanos;
+        this.sink = sink;
+        this.clock = clock;
+    }
+
+    /**
+     * Moves every available element into the batch, flushing each time the batch fills up, and then flushes
+     * the partial batch if its linger time has passed.
+     * @return the number of elements handed to the sink
+     */
+    public int poll() {
+        int flushed = 0;
+        long now = clock.getAsLong();
+        while (!source.isEmpty()) {
+            Object element;
+            try {
+                element = source.dequeue();
+            } catch (QueueEmptyException e) {
+                break;      // a concurrent source's isEmpty() is only a snapshot
+            }
+            if (count == 0) {
+                batchStart = now;
+            }
+            batch[count++] = element;
+            if (count == batch.length) {
+                flushed += flush(now);
+            }
+        }
+        if (count > 0 && now - batchStart >= lingerNanos) {
+            flushed += flush(now);
+        }
+        return flushed;
+    }
+
+    /**
+     * Hands the partial batch to the sink regardless of its size or age, e.g. on shutdown.
+     * @return the number of elements handed to the sink
+     */
+    public int flush() {
+        return count == 0 ? 0 : flush(clock.getAsLong());
+    }
+
+    /**
+     * Returns how long the caller may wait before the partial batch is due.
+     * @return nanoseconds until the linger deadline, 0 if it has passed, or Long.MAX_VALUE if the batch is empty
+     */
+    public long nanosToDeadline() {
+        if (count == 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, batchStart + lingerNanos - clock.getAsLong());
+    }
+
+    /**
+     * Returns the number of elements taken from the queue but not yet flushed.
+     * @return the size of the partial batch
+     */
+    public int pending() {
+        return count;
+    }
+
+    /**
+     * Returns the histogram of flushed batch sizes.
+     * @return the batch size histogram
+     */
+    public Histogram batchSizes() {
+        return batchSizes;
+    }
+
+    /**
+     * Returns the histogram of how long, in nanoseconds, the first element of each batch waited to be flushed.
+     * @return the linger histogram
+     */
+    public Histogram lingerTimes() {
+        return lingerTimes;
+    }
+
+    private int flush(long now) {
+        int n = count;
+        batchSizes.record(n);
+        lingerTimes.record(now - batchStart);
+        try {
+            sink.accept(batch, n);
+        } finally {
+            Arrays.fill(batch, 0, n, null);
+            count = 0;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,186 @@
+package impl;
+
+import java.util.function.LongSupplier;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import interfaces.IQueue;
+
+/**
+ * DoubleStack-based queue which timestamps elements on enqueue and measures their sojourn time on dequeue.
+ * When the sojourn time stays above the target for a whole interval the queue starts dropping from the head,
+ * following the CoDel control law, so that stale work is shed instead of served.
+ */
+public class CoDelQueue implements IQueue {
+    private DoubleStackQueue elements;  //the queued elements, in FIFO order
+    private long[] enqueueTimes;        //enqueue timestamps, a ring kept in step with elements
+    private int timesHead;              //index of the timestamp belonging to the head element
+    private int capacity;
+    private long targetNanos;           //acceptable standing delay
+    private long intervalNanos;         //how long the delay may stay above target before dropping
+    private LongSupplier clock;         //nanosecond time source
+
+    private long firstAboveTime;        //when the delay may first be declared persistent, 0 if below target
+    private long dropNext;              //when the next drop is due while dropping
+    private int dropCount;              //drops since entering the dropping state
+    private int lastDropCount;          //dropCount when the dropping state was last left
+    private boolean dropping;
+    private long droppedTotal;
+    private long lastSojournNanos;
+
+    public CoDelQueue(int maxSize, long targetNanos, long intervalNanos) {
+        this(maxSize, targetNanos, intervalNanos, System::nanoTime);
+    }
+
+    public CoDelQueue(int maxSize, long targetNanos, long intervalNanos, LongSupplier clock) {
+        if (targetNanos <= 0 || intervalNanos <= 0) {
+            throw new IllegalArgumentException("target and interval must be positive");
+        }
+        this.elements = new DoubleStackQueue(maxSize);
+        this.enqueueTimes = new long[Math.max(maxSize, 1)];
+        this.capacity = maxSize;
+        this.targetNanos = targetNanos;
+        this.intervalNanos = intervalNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Enqueues an element at the back of the queue and records its arrival time.
+     * @param element the element to add
+     * @throws QueueFullException if the queue is full
+     */
+    @Override
+    public void enqueue(Object element) throws QueueFullException {
+        elements.enqueue(element);
+        enqueueTimes[(timesHead + elements.size() - 1) % enqueueTimes.length] = clock.getAsLong();
+    }
+
+    /**
+     * Dequeues the element at the front of the queue, first dropping stale elements from the head
+     * while the standing delay has been above target for longer than the interval.
+     * @return the dequeued element
+     * @throws QueueEmptyException if the queue is empty
+     */
+    @Override
+    public Object dequeue() throws QueueEmptyException {
+        long now = clock.getAsLong();
+        Object head = take(now);
+        boolean okToDrop = shouldDrop(now);
+
+        if (dropping) {
+            if (!okToDrop) {
+                dropping = false;
+            } else {
+                while (now >= dropNext && dropping) {
+                    droppedTotal++;
+                    head = take(now);
+                    dropCount++;
+                    if (!shouldDrop(now)) {
+                        dropping = false;
+                    } else {
+                        dropNext = controlLaw(dropNext);
+                    }
+                }
+            }
+        } else if (okToDrop) {
+            droppedTotal++;
+            head = take(now);
+            shouldDrop(now);
+            dropping = true;
+            // Re-entering soon after leaving: resume near the previous drop rate rather than from scratch.
+            int delta = dropCount - lastDropCount;
+            dropCount = (delta > 1 && now - dropNext < 16 * intervalNanos) ? delta : 1;
+            dropNext = controlLaw(now);
+            lastDropCount = dropCount;
+        }
+        return head;
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return the size of the queue
+     */
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if the queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    /**
+     * Clears the queue and resets the drop state.
+     */
+    @Override
+    public void clear() {
+        elements.clear();
+        timesHead = 0;
+        firstAboveTime = 0;
+        dropping = false;
+        dropCount = 0;
+        lastDropCount = 0;
+    }
+
+    /**
+     * Returns the maximum number of elements the queue can hold.
+     * @return the capacity of the queue
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of elements dropped from the head since the queue was created.
+     * @return the total number of dropped elements
+     */
+    public long droppedCount() {
+        return droppedTotal;
+    }
+
+    /**
+     * Returns the sojourn time of the most recently removed element, dropped or not.
+     * @return the last measured sojourn time in nanoseconds
+     */
+    public long lastSojournNanos() {
+        return lastSojournNanos;
+    }
+
+    /**
+     * Checks whether the queue is currently shedding load.
+     * @return true if the queue is in the dropping state
+     */
+    public boolean isDropping() {
+        return dropping;
+    }
+
+    // Removes the head element and records its sojourn time.
+    private Object take(long now) throws QueueEmptyException {
+        Object head = elements.dequeue();
+        lastSojournNanos = now - enqueueTimes[timesHead];
+        timesHead = (timesHead + 1) % enqueueTimes.length;
+        return head;
+    }
+
+    // Decides from the last sojourn time whether the standing delay has persisted for a full interval.
+    private boolean shouldDrop(long now) {
+        if (lastSojournNanos < targetNanos || elements.isEmpty()) {
+            firstAboveTime = 0;
+            return false;
+        }
+        if (firstAboveTime == 0) {
+            firstAboveTime = now + intervalNanos;
+            return false;
+        }
+        return now >= firstAboveTime;
+    }
+
+    private long controlLaw(long t) {
+        return t + (long) (intervalNanos / Math.sqrt(dropCount));
+    }
+}
@@ -0,0 +1,166 @@
+package impl;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import interfaces.IQueue;
+
+/**
+ * Keyed queue which coalesces pending work. Enqueueing an element whose key is already pending merges it
+ * into the pending element in place, keeping that element's position, instead of adding a duplicate.
+ *
+ * Elements sit in a ring array. An open-addressing index with linear probing maps each pending key to its
+ * ring slot, so the duplicate check is O(1) and allocates nothing.
+ */
+public class CoalescingQueue implements IQueue {
+    private Object[] values;                    //ring of pending elements
+    private Object[] keys;                      //key of the element in the same ring slot
+    private int head;                           //ring slot of the front element
+    private int count;
+    private int[] index;                        //open-addressing table of ring slot + 1, 0 when free
+    private int mask;
+    private Function<Object, Object> keyOf;
+    private BinaryOperator<Object> merger;      //combines the pending element with a newly enqueued one
+    private long coalesced;
+
+    public CoalescingQueue(int maxSize, Function<Object, Object> keyOf) {
+        this(maxSize, keyOf, (pending, incoming) -> incoming);
+    }
+
+    public CoalescingQueue(int maxSize, Function<Object, Object> keyOf, BinaryOperator<Object> merger) {
+        values = new Object[maxSize];
+        keys = new Object[maxSize];
+        int tableSize = Integer.highestOneBit(Math.max(2 * maxSize, 2) - 1) << 1;   // power of two, load <= 1/2
+        index = new int[tableSize];
+        mask = tableSize - 1;
+        this.keyOf = keyOf;
+        this.merger = merger;
+    }
+
+    /**
+     * Enqueues an element at the back of the queue, or merges it into the pending element with the same key.
+     * @param element the element to add
+     * @throws QueueFullException if the queue is full and no element with the same key is pending
+     */
+    @Override
+    public void enqueue(Object element) throws QueueFullException {
+        Object key = keyOf.apply(element);
+        int probe = find(key);
+        if (index[probe] != 0) {
+            int slot = index[probe] - 1;
+            values[slot] = merger.apply(values[slot], element);
+            coalesced++;
+            return;
+        }
+        if (count == values.length) {
+            throw new QueueFullException();
+        }
+        int slot = (head + count) % values.length;
+        values[slot] = element;
+        keys[slot] = key;
+        index[probe] = slot + 1;
+        count++;
+    }
+
+    /**
+     * Dequeues an element from the front of the queue; its key is no longer pending afterwards.
+     * @return the dequeued element
+     * @throws QueueEmptyException if the queue is empty
+     */
+    @Override
+    public Object dequeue() throws QueueEmptyException {
+        if (count == 0) {
+            throw new QueueEmptyException();
+        }
+        Object element = values[head];
+        remove(find(keys[head]));
+        values[head] = null;
+        keys[head] = null;
+        head = (head + 1) % values.length;
+        count--;
+        return element;
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return the size of the queue
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if the queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Clears the queue.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        Arrays.fill(keys, null);
+        Arrays.fill(index, 0);
+        head = 0;
+        count = 0;
+    }
+
+    /**
+     * Checks whether an element with the given key is pending.
+     * @param key the key to look for
+     * @return true if an element with that key is in the queue
+     */
+    public boolean isPending(Object key) {
+        return index[find(key)] != 0;
+    }
+
+    /**
+     * Returns how many enqueues were merged into an already pending element.
+     * @return the number of coalesced enqueues
+     */
+    public long coalescedCount() {
+        return coalesced;
+    }
+
+    // Returns the table position holding the key, or the free position where it would be inserted.
+    private int find(Object key) {
+        int probe = home(key);
+        while (index[probe] != 0 && !Objects.equals(keys[index[probe] - 1], key)) {
+            probe = (probe + 1) & mask;
+        }
+        return probe;
+    }
+
+    private int home(Object key) {
+        int h = Objects.hashCode(key) * 0x9E3779B9;     // spread poor hash codes over the table
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // Backward-shift deletion: entries after the hole move up unless that would put them before their home.
+    private void remove(int hole) {
+        int probe = hole;
+        while (true) {
+            probe = (probe + 1) & mask;
+            if (index[probe] == 0) {
+                break;
+            }
+            int home = home(keys[index[probe] - 1]);
+            boolean movable = hole <= probe ? (home <= hole || home > probe) : (home <= hole && home > probe);
+            if (movable) {
+                index[hole] = index[probe];
+                hole = probe;
+            }
+        }
+        index[hole] = 0;
+    }
+}
@@ -0,0 +1,176 @@
+package impl;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import common.StackEmptyException;
+import common.StackOverflowException;
+import interfaces.IDeque;
+
+/**
+ * DoubleStack-based double-ended queue. The first stack holds the front of the deque with the front-most
+ * element on top, and the second stack holds the back with the back-most element on top.
+ *
+ * When one side runs dry, only the half of the other stack nearest to it is moved across, rather than the
+ * whole stack as in DoubleStackQueue. Both halves are then about equal, so a run of operations at either end
+ * pays at most O(1) amortized per operation.
+ */
+public class DoubleStackDeque implements IDeque {
+    private DoubleStack doubleStack;
+    private Stack frontStack;
+    private Stack backStack;
+    private Object[] scratch;   //holds the half which stays put while the other half is moved
+    private int capacity;
+
+    public DoubleStackDeque(int maxSize) {
+        doubleStack = new DoubleStack(2 * maxSize);
+        frontStack = doubleStack.getFirstStack();
+        backStack = doubleStack.getSecondStack();
+        scratch = new Object[maxSize];
+        capacity = maxSize;
+    }
+
+    /**
+     * Adds an element at the front of the deque.
+     * @param element the element to add
+     * @throws QueueFullException if the deque is full
+     */
+    @Override
+    public void pushFront(Object element) throws QueueFullException {
+        push(frontStack, element);
+    }
+
+    /**
+     * Adds an element at the back of the deque.
+     * @param element the element to add
+     * @throws QueueFullException if the deque is full
+     */
+    @Override
+    public void pushBack(Object element) throws QueueFullException {
+        push(backStack, element);
+    }
+
+    /**
+     * Removes the element at the front of the deque.
+     * @return the removed element
+     * @throws QueueEmptyException if the deque is empty
+     */
+    @Override
+    public Object popFront() throws QueueEmptyException {
+        return pop(frontStack, backStack);
+    }
+
+    /**
+     * Removes the element at the back of the deque.
+     * @return the removed element
+     * @throws QueueEmptyException if the deque is empty
+     */
+    @Override
+    public Object popBack() throws QueueEmptyException {
+        return pop(backStack, frontStack);
+    }
+
+    /**
+     * Returns the element at the front of the deque without removing it.
+     * @return the front element
+     * @throws QueueEmptyException if the deque is empty
+     */
+    @Override
+    public Object peekFront() throws QueueEmptyException {
+        return peek(frontStack, backStack);
+    }
+
+    /**
+     * Returns the element at the back of the deque without removing it.
+     * @return the back element
+     * @throws QueueEmptyException if the deque is empty
+     */
+    @Override
+    public Object peekBack() throws QueueEmptyException {
+        return peek(backStack, frontStack);
+    }
+
+    /**
+     * Returns the number of elements in the deque.
+     * @return the size of the deque
+     */
+    @Override
+    public int size() {
+        return frontStack.size() + backStack.size();
+    }
+
+    /**
+     * Checks if the deque is empty.
+     * @return true if the deque is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return frontStack.isEmpty() && backStack.isEmpty();
+    }
+
+    /**
+     * Clears the deque.
+     */
+    @Override
+    public void clear() {
+        frontStack.clear();
+        backStack.clear();
+    }
+
+    private void push(Stack side, Object element) throws QueueFullException {
+        if (size() == capacity) {
+            throw new QueueFullException();
+        }
+        try {
+            side.push(element);
+        } catch (StackOverflowException impossible) {
+            // Each side can hold the whole capacity, so only the size guard can reject a push.
+            throw new IllegalStateException("Unexpected overflow in push", impossible);
+        }
+    }
+
+    private Object pop(Stack side, Stack other) throws QueueEmptyException {
+        refill(side, other);
+        try {
+            return side.pop();
+        } catch (StackEmptyException e) {
+            throw new AssertionError("Side non-empty after refill but pop() failed", e);
+        }
+    }
+
+    private Object peek(Stack side, Stack other) throws QueueEmptyException {
+        refill(side, other);
+        try {
+            return side.top();
+        } catch (StackEmptyException e) {
+            throw new AssertionError("Side non-empty after refill but top() failed", e);
+        }
+    }
+
+    // If side is empty, moves the bottom half of other (the elements nearest to side's end) across.
+    private void refill(Stack side, Stack other) throws QueueEmptyException {
+        if (!side.isEmpty()) {
+            return;
+        }
+        int k = other.size();
+        if (k == 0) {
+            throw new QueueEmptyException();
+        }
+        int moved = (k + 1) / 2;
+        int kept = k - moved;
+        try {
+            for (int i = 0; i < kept; i++) {
+                scratch[i] = other.pop();
+            }
+            // Popping the rest yields them innermost first, so side ends up with the outermost on top.
+            for (int i = 0; i < moved; i++) {
+                side.push(other.pop());
+            }
+            for (int i = kept - 1; i >= 0; i--) {
+                other.push(scratch[i]);
+                scratch[i] = null;
+            }
+        } catch (StackEmptyException | StackOverflowException e) {
+            throw new IllegalStateException("Unexpected stack failure during rebalance", e);
+        }
+    }
+}
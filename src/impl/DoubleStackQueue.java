@@ -1,13 +1,14 @@
 package impl;
 
+import java.util.Arrays;
+
 import interfaces.IQueue;
-import interfaces.IDoubleStack;
 import interfaces.IStack;
 import common.QueueEmptyException;
 import common.QueueFullException;
 
 public class DoubleStackQueue implements IQueue {
-    private IDoubleStack doubleStack;
+    private DoubleStack doubleStack;
     private IStack inputStack;
     private IStack outputStack;
     private int capacity;
@@ -52,21 +53,7 @@ public class DoubleStackQueue implements IQueue {
 
         // If output is empty, transfer input -> output to restore FIFO order.
         if (outputStack.isEmpty()) {
-            while (!inputStack.isEmpty()) {
-                Object x;
-                try {
-                    x = inputStack.pop(); // may throw StackEmptyException
-                } catch (common.StackEmptyException e) {
-                    // Inconsistent: input said non-empty; treat as internal bug.
-                    throw new AssertionError("Input non-empty but pop() failed", e);
-                }
-                try {
-                    outputStack.push(x);   // may throw StackOverflowException
-                } catch (common.StackOverflowException e) {
-                    // Impossible under 2*Q-internal + size()==capacity guard.
-                    throw new IllegalStateException("Unexpected overflow during transfer", e);
-                }
-            }
+            transfer();
             // Defensive: if nothing moved, still empty.
             if (outputStack.isEmpty()) {
                 throw new QueueEmptyException();
@@ -107,4 +94,35 @@ public class DoubleStackQueue implements IQueue {
         inputStack.clear();
         outputStack.clear();
     }
+
+    // Moves the whole input stack onto the output stack in one System.arraycopy. The output stack grows down
+    // from the end of the shared array, so its top is its lowest index: copying the input region across
+    // unchanged puts the oldest element on top, which is the reversal that popping and pushing would do.
+    private void transfer() {
+        Stack in = doubleStack.getFirstStack();
+        Stack out = doubleStack.getSecondStack();
+        int n = in.size();
+        Object[] data = in.array();
+        int from = in.regionStart();
+        out.setSize(n);
+        System.arraycopy(data, from, data, out.regionStart(), n);
+        Arrays.fill(data, from, from + n, null);
+        in.setSize(0);
+    }
+
+    /**
+     * Returns the double stack holding the queue's elements; the first stack is the input side.
+     * @return the underlying double stack
+     */
+    DoubleStack doubleStack() {
+        return doubleStack;
+    }
+
+    /**
+     * Returns the maximum number of elements the queue can hold.
+     * @return the capacity of the queue
+     */
+    int capacity() {
+        return capacity;
+    }
 }
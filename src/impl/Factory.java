@@ -1,8 +1,25 @@
 package impl;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import interfaces.IAggregatingQueue;
+import interfaces.IDeque;
 import interfaces.IDoubleStack;
 import interfaces.IFactory;
+import interfaces.IMultiStack;
+import interfaces.IPublishingQueue;
 import interfaces.IQueue;
+import interfaces.IRecordCodec;
+import interfaces.IScheduledQueue;
+import interfaces.ISerializer;
+import interfaces.IStack;
+import interfaces.IUndoHistory;
+import interfaces.IVersionedQueue;
+import interfaces.IVersionedStack;
 
 /**
  * This class implements a singleton factory.
@@ -10,20 +27,22 @@ import interfaces.IQueue;
  */
 public final class Factory implements IFactory {
 
-    private static IFactory factoryInstance = null;
-
     private Factory() {
     }
 
+    /**
+     * Holds the singleton; the JVM initialises it lazily and exactly once, on first use of getInstance().
+     */
+    private static final class Holder {
+        private static final IFactory INSTANCE = new Factory();
+    }
+
     /**
      * Method which returns an instance of the singleton Factory class.
      * @return the instance of the Factory
      */
     public static IFactory getInstance() {
-        if (factoryInstance == null) {
-            factoryInstance = new Factory();
-        }
-        return factoryInstance;
+        return Holder.INSTANCE;
     }
 
     @Override
@@ -36,4 +55,82 @@ public final class Factory implements IFactory {
         return new DoubleStackQueue(maxSize);
     }
 
+    @Override
+    public IQueue makeCoDelQueue(int maxSize, long targetNanos, long intervalNanos) {
+        return new CoDelQueue(maxSize, targetNanos, intervalNanos);
+    }
+
+    @Override
+    public IQueue makeMappedFileQueue(Path directory, int maxSize, ISerializer serializer) {
+        try {
+            return new MappedFileQueue(directory, maxSize, serializer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public IQueue makeSpscQueue(int maxSize) {
+        return new SpscArrayQueue(maxSize);
+    }
+
+    @Override
+    public IAggregatingQueue makeSlidingWindowQueue(int maxSize, BinaryOperator<Object> combiner) {
+        return new SlidingWindowQueue(maxSize, combiner);
+    }
+
+    @Override
+    public IVersionedStack makeVersionedStack(int maxSize) {
+        return new VersionedStack(maxSize);
+    }
+
+    @Override
+    public IVersionedQueue makeVersionedQueue(int maxSize) {
+        return new VersionedQueue(maxSize);
+    }
+
+    @Override
+    public IMultiStack makeMultiStack(int stackCount, int maxSize) {
+        return new MultiStack(stackCount, maxSize);
+    }
+
+    @Override
+    public IDeque makeDeque(int maxSize) {
+        return new DoubleStackDeque(maxSize);
+    }
+
+    @Override
+    public IQueue makeCoalescingQueue(int maxSize, Function<Object, Object> keyOf, BinaryOperator<Object> merger) {
+        return new CoalescingQueue(maxSize, keyOf, merger);
+    }
+
+    @Override
+    public IUndoHistory makeUndoHistory(int maxSize) {
+        return new UndoHistory(maxSize);
+    }
+
+    @Override
+    public IQueue makeSharedMemoryQueue(Path file, int maxSize, IRecordCodec codec) {
+        try {
+            return new SharedMemoryQueue(file, maxSize, codec);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public IPublishingQueue makeQueuePublisher(int maxSize) {
+        return new QueuePublisher(new DoubleStackQueue(maxSize));
+    }
+
+    @Override
+    public IQueue makeStripedQueue(int laneCount, int maxSize) {
+        return new StripedQueue(laneCount, maxSize);
+    }
+
+    @Override
+    public IScheduledQueue makeTimingWheelQueue(int maxSize, long tickNanos) {
+        return new TimingWheelQueue(maxSize, tickNanos);
+    }
+
 }
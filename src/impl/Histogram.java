@@ -0,0 +1,122 @@
+package impl;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of non-negative long values with log-linear buckets: every power of two is split into 16 equal
+ * buckets, so a reported percentile is never more than about 6% above the true value, whatever the range.
+ * Values below 16 are kept exactly. Recording is a few shifts and an array increment, and never allocates.
+ * Not thread-safe.
+ */
+public class Histogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;     //buckets per power of two
+
+    private final long[] counts = new long[(64 - SUB_BITS) * SUB_COUNT];
+    private long total;
+    private long sum;
+    private long max;
+
+    /**
+     * Records a value.
+     * @param value the value to record
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must not be negative");
+        }
+        counts[index(value)]++;
+        total++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Returns the number of values recorded.
+     * @return the count
+     */
+    public long count() {
+        return total;
+    }
+
+    /**
+     * Returns the largest value recorded.
+     * @return the maximum, or 0 if nothing has been recorded
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the values recorded.
+     * @return the mean, or 0 if nothing has been recorded
+     */
+    public double mean() {
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    /**
+     * Returns the value at the given percentile, rounded up to the top of its bucket.
+     * @param percentile between 0 and 100
+     * @return the value at the percentile, or 0 if nothing has been recorded
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestInBucket(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Adds every value recorded in another histogram to this one.
+     * @param other the histogram to add
+     */
+    public void add(Histogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    private static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) (value >>> shift) - SUB_COUNT;
+    }
+
+    private static long highestInBucket(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        long lowest = (long) (index % SUB_COUNT + SUB_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
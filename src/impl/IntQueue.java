@@ -0,0 +1,183 @@
+package impl;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import common.StackEmptyException;
+import common.StackOverflowException;
+
+/**
+ * Bounded FIFO queue of primitive ints built from two {@link IntStack}s, like DoubleStackQueue, with the
+ * same bulk operations as IntStack. When the output stack runs dry the input stack is moved across with one
+ * reversing loop over the arrays instead of a pop and a push per element. reverse() just swaps the two stacks.
+ */
+public class IntQueue {
+    private IntStack input;
+    private IntStack output;
+    private int capacity;
+
+    public IntQueue(int maxSize) {
+        input = new IntStack(maxSize);
+        output = new IntStack(maxSize);
+        capacity = maxSize;
+    }
+
+    /**
+     * Enqueues a value at the back of the queue.
+     * @param value the value to add
+     * @throws QueueFullException if the queue is full
+     */
+    public void enqueue(int value) throws QueueFullException {
+        if (size() == capacity) {
+            throw new QueueFullException();
+        }
+        try {
+            input.push(value);
+        } catch (StackOverflowException impossible) {
+            throw new IllegalStateException("Unexpected overflow in enqueue()", impossible);
+        }
+    }
+
+    /**
+     * Dequeues a value from the front of the queue.
+     * @return the dequeued value
+     * @throws QueueEmptyException if the queue is empty
+     */
+    public int dequeue() throws QueueEmptyException {
+        if (output.isEmpty()) {
+            if (input.isEmpty()) {
+                throw new QueueEmptyException();
+            }
+            transfer();
+        }
+        try {
+            return output.pop();
+        } catch (StackEmptyException impossible) {
+            throw new AssertionError("Output non-empty but pop() failed", impossible);
+        }
+    }
+
+    /**
+     * Returns the number of values in the queue.
+     * @return the size of the queue
+     */
+    public int size() {
+        return input.size() + output.size();
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if the queue is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return input.isEmpty() && output.isEmpty();
+    }
+
+    /**
+     * Clears the queue.
+     */
+    public void clear() {
+        input.clear();
+        output.clear();
+    }
+
+    /**
+     * Checks whether the queue holds a value.
+     * @param value the value to look for
+     * @return true if the value is in the queue
+     */
+    public boolean contains(int value) {
+        return output.contains(value) || input.contains(value);
+    }
+
+    /**
+     * Returns how far from the front the first occurrence of a value is.
+     * @param value the value to look for
+     * @return 0 if the value is at the front, 1 if it is next, and so on; -1 if it is not in the queue
+     */
+    public int indexOf(int value) {
+        int i = output.indexOf(value);
+        if (i >= 0) {
+            return i;
+        }
+        i = IntKernel.preferred().firstIndexOf(input.array(), 0, input.size(), value);
+        return i < 0 ? -1 : output.size() + i;
+    }
+
+    /**
+     * Returns the sum of the values in the queue.
+     * @return the sum, as a long so that it cannot overflow
+     */
+    public long sum() {
+        return input.sum() + output.sum();
+    }
+
+    /**
+     * Returns the smallest value in the queue.
+     * @return the minimum
+     * @throws QueueEmptyException if the queue is empty
+     */
+    public int min() throws QueueEmptyException {
+        try {
+            if (input.isEmpty() || output.isEmpty()) {
+                return (input.isEmpty() ? output : input).min();
+            }
+            return Math.min(input.min(), output.min());
+        } catch (StackEmptyException e) {
+            throw new QueueEmptyException();
+        }
+    }
+
+    /**
+     * Returns the largest value in the queue.
+     * @return the maximum
+     * @throws QueueEmptyException if the queue is empty
+     */
+    public int max() throws QueueEmptyException {
+        try {
+            if (input.isEmpty() || output.isEmpty()) {
+                return (input.isEmpty() ? output : input).max();
+            }
+            return Math.max(input.max(), output.max());
+        } catch (StackEmptyException e) {
+            throw new QueueEmptyException();
+        }
+    }
+
+    /**
+     * Reverses the queue in place, so that the back value ends up at the front, in O(1).
+     * The output stack pops the oldest values first and the input stack holds the newest on top, so
+     * swapping them serves the newest input values first and then the output values from newest to oldest.
+     */
+    public void reverse() {
+        IntStack t = input;
+        input = output;
+        output = t;
+    }
+
+    /**
+     * Returns the values from front to back.
+     * @return a new array holding the values
+     */
+    public int[] toArray() {
+        int[] values = new int[size()];
+        int n = output.size();
+        int[] out = output.array();
+        for (int i = 0; i < n; i++) {
+            values[i] = out[n - 1 - i];
+        }
+        System.arraycopy(input.array(), 0, values, n, input.size());
+        return values;
+    }
+
+    // Output is empty here. Its top is its highest index, so the oldest input value, at index 0, goes last.
+    private void transfer() {
+        int n = input.size();
+        int[] from = input.array();
+        int[] to = output.array();
+        for (int i = 0; i < n; i++) {
+            to[i] = from[n - 1 - i];
+        }
+        output.setSize(n);
+        input.setSize(0);
+    }
+}
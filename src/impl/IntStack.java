@@ -0,0 +1,195 @@
+package impl;
+
+import java.util.Arrays;
+
+import common.StackEmptyException;
+import common.StackOverflowException;
+
+/**
+ * Bounded stack of primitive ints, with bulk operations over the whole stack.
+ *
+ * The elements sit unboxed in one int array, bottom at index 0. The bulk operations run over that array
+ * through {@link IntKernel#preferred()}: Vector API code when the JVM provides it, plain scalar loops
+ * otherwise.
+ */
+public class IntStack {
+    private static final IntKernel KERNEL = IntKernel.preferred();
+
+    private int[] data;
+    private int top;                        //count of elements in this stack
+
+    public IntStack(int maxSize) {
+        data = new int[maxSize];
+    }
+
+    /**
+     * Pushes a value onto the stack.
+     * @param value the value to push
+     * @throws StackOverflowException if the stack is full
+     */
+    public void push(int value) throws StackOverflowException {
+        if (top == data.length) {
+            throw new StackOverflowException();
+        }
+        data[top++] = value;
+    }
+
+    /**
+     * Pushes values onto the stack in order, so that the last one ends up on top.
+     * @param values the array holding the values
+     * @param offset the index of the first value
+     * @param length the number of values
+     * @throws StackOverflowException if the values do not all fit; nothing is pushed then
+     */
+    public void pushAll(int[] values, int offset, int length) throws StackOverflowException {
+        if (length > data.length - top) {
+            throw new StackOverflowException();
+        }
+        System.arraycopy(values, offset, data, top, length);
+        top += length;
+    }
+
+    /**
+     * Pops a value from the stack.
+     * @return the popped value
+     * @throws StackEmptyException if the stack is empty
+     */
+    public int pop() throws StackEmptyException {
+        if (top == 0) {
+            throw new StackEmptyException();
+        }
+        return data[--top];
+    }
+
+    /**
+     * Returns the top value without removing it.
+     * @return the top value
+     * @throws StackEmptyException if the stack is empty
+     */
+    public int top() throws StackEmptyException {
+        if (top == 0) {
+            throw new StackEmptyException();
+        }
+        return data[top - 1];
+    }
+
+    /**
+     * Returns the number of values in the stack.
+     * @return the size of the stack
+     */
+    public int size() {
+        return top;
+    }
+
+    /**
+     * Checks if the stack is empty.
+     * @return true if the stack is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return top == 0;
+    }
+
+    /**
+     * Clears the stack.
+     */
+    public void clear() {
+        top = 0;
+    }
+
+    /**
+     * Returns the maximum number of values the stack can hold.
+     * @return the capacity of the stack
+     */
+    public int capacity() {
+        return data.length;
+    }
+
+    /**
+     * Checks whether the stack holds a value.
+     * @param value the value to look for
+     * @return true if the value is in the stack
+     */
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Returns how far below the top the topmost occurrence of a value is.
+     * @param value the value to look for
+     * @return 0 if the value is on top, 1 if it is just below, and so on; -1 if it is not in the stack
+     */
+    public int indexOf(int value) {
+        int i = KERNEL.lastIndexOf(data, 0, top, value);
+        return i < 0 ? -1 : top - 1 - i;
+    }
+
+    /**
+     * Returns the sum of the values in the stack.
+     * @return the sum, as a long so that it cannot overflow
+     */
+    public long sum() {
+        return KERNEL.sum(data, 0, top);
+    }
+
+    /**
+     * Returns the smallest value in the stack.
+     * @return the minimum
+     * @throws StackEmptyException if the stack is empty
+     */
+    public int min() throws StackEmptyException {
+        if (top == 0) {
+            throw new StackEmptyException();
+        }
+        return KERNEL.min(data, 0, top);
+    }
+
+    /**
+     * Returns the largest value in the stack.
+     * @return the maximum
+     * @throws StackEmptyException if the stack is empty
+     */
+    public int max() throws StackEmptyException {
+        if (top == 0) {
+            throw new StackEmptyException();
+        }
+        return KERNEL.max(data, 0, top);
+    }
+
+    /**
+     * Reverses the stack in place, so that the bottom value ends up on top.
+     */
+    public void reverse() {
+        for (int i = 0, j = top - 1; i < j; i++, j--) {
+            int t = data[i];
+            data[i] = data[j];
+            data[j] = t;
+        }
+    }
+
+    /**
+     * Returns the values from bottom to top.
+     * @return a new array holding the values
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(data, top);
+    }
+
+    /**
+     * Returns the backing array; the live values occupy indices [0, size()).
+     * @return the backing array
+     */
+    int[] array() {
+        return data;
+    }
+
+    /**
+     * Sets the number of values after the backing array has been filled in directly.
+     * @param size the new number of values
+     */
+    void setSize(int size) {
+        if (size < 0 || size > data.length) {
+            throw new IllegalArgumentException("size " + size + " outside [0, " + data.length + "]");
+        }
+        top = size;
+    }
+}
@@ -0,0 +1,338 @@
+package impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import interfaces.IQueue;
+import interfaces.ISerializer;
+
+/**
+ * Persistent queue whose elements live in memory-mapped segment files, so that they survive a process restart.
+ *
+ * Each segment holds length-prefixed records laid out as [length + 1][crc32][payload]. The length word is written
+ * last, after a zero terminator following the payload, so a record only becomes visible once it is complete.
+ * It is stored plus one so that an empty payload is still a record: a zero word always marks the end of the
+ * written data.
+ * The position of the head is kept in a small mapped index file. On opening, the segments from the head onwards
+ * are scanned and the first missing, torn or corrupt record ends the queue.
+ */
+public class MappedFileQueue implements IQueue, AutoCloseable {
+
+    /**
+     * When written data is forced to the storage device.
+     */
+    public enum FsyncPolicy {
+        /** Never force; the operating system writes pages back in its own time. */
+        NEVER,
+        /** Force when a segment fills up, on {@link MappedFileQueue#sync()} and on close. */
+        BATCH,
+        /** Force after every N enqueues, as well as on segment roll, sync and close. */
+        EVERY_N
+    }
+
+    /** Default size of one segment file in bytes. */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final int HEADER = 2 * Integer.BYTES;    //length and crc preceding each payload
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_FILE = "head.idx";
+
+    private Path directory;
+    private ISerializer serializer;
+    private int capacity;
+    private int segmentSize;
+    private FsyncPolicy policy;
+    private int syncEvery;
+
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;         //packed head position: segment id in the high half, offset in the low
+    private long headSegmentId;
+    private MappedByteBuffer headSegment;
+    private int headOffset;
+    private long tailSegmentId;
+    private MappedByteBuffer tailSegment;
+    private int tailOffset;
+    private int count;
+    private int unsynced;                   //enqueues since the last force
+    private CRC32 crc = new CRC32();
+
+    public MappedFileQueue(Path directory, int maxSize, ISerializer serializer) throws IOException {
+        this(directory, maxSize, serializer, DEFAULT_SEGMENT_SIZE, FsyncPolicy.BATCH, 0);
+    }
+
+    public MappedFileQueue(Path directory, int maxSize, ISerializer serializer, int segmentSize,
+                           FsyncPolicy policy, int syncEvery) throws IOException {
+        if (segmentSize <= 2 * HEADER) {
+            throw new IllegalArgumentException("segmentSize too small: " + segmentSize);
+        }
+        if (policy == FsyncPolicy.EVERY_N && syncEvery <= 0) {
+            throw new IllegalArgumentException("EVERY_N requires a positive syncEvery");
+        }
+        this.directory = directory;
+        this.capacity = maxSize;
+        this.serializer = serializer;
+        this.segmentSize = segmentSize;
+        this.policy = policy;
+        this.syncEvery = syncEvery;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /**
+     * Enqueues an element at the back of the queue, appending it to the tail segment.
+     * @param element the element to add
+     * @throws QueueFullException if the queue is full
+     */
+    @Override
+    public void enqueue(Object element) throws QueueFullException {
+        if (count == capacity) {
+            throw new QueueFullException();
+        }
+        byte[] payload = serializer.serialize(element);
+        if (HEADER + payload.length + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("Element of " + payload.length + " bytes does not fit in a segment");
+        }
+        try {
+            if (tailOffset + HEADER + payload.length + Integer.BYTES > segmentSize) {
+                rollTail();
+            }
+            crc.reset();
+            crc.update(payload);
+            tailSegment.put(tailOffset + HEADER, payload);
+            tailSegment.putInt(tailOffset + Integer.BYTES, (int) crc.getValue());
+            tailSegment.putInt(tailOffset + HEADER + payload.length, 0); // fences off anything left behind
+            tailSegment.putInt(tailOffset, payload.length + 1); // commits the record
+            tailOffset += HEADER + payload.length;
+            count++;
+            if (policy == FsyncPolicy.EVERY_N && ++unsynced >= syncEvery) {
+                sync();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Dequeues the element at the front of the queue, reading it straight from the mapped segment.
+     * @return the dequeued element
+     * @throws QueueEmptyException if the queue is empty
+     */
+    @Override
+    public Object dequeue() throws QueueEmptyException {
+        if (count == 0) {
+            throw new QueueEmptyException();
+        }
+        try {
+            while (headSegmentId != tailSegmentId && lengthWord(headSegment, headOffset) == 0) {
+                advanceHeadSegment();
+            }
+            int length = lengthWord(headSegment, headOffset) - 1;
+            ByteBuffer payload = headSegment.slice(headOffset + HEADER, length).asReadOnlyBuffer();
+            Object element = serializer.deserialize(payload);
+            headOffset += HEADER + length;
+            count--;
+            writeHead();
+            return element;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return the size of the queue
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if the queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Clears the queue, deleting every segment file.
+     */
+    @Override
+    public void clear() {
+        try {
+            long next = tailSegmentId + 1;
+            for (long id : segmentIds()) {
+                Files.deleteIfExists(segmentPath(id));
+            }
+            tailSegmentId = next;
+            tailSegment = mapSegment(next);
+            tailOffset = 0;
+            headSegmentId = next;
+            headSegment = tailSegment;
+            headOffset = 0;
+            count = 0;
+            writeHead();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Forces the written records and the head position to the storage device.
+     */
+    public void sync() {
+        tailSegment.force();
+        index.force();
+        unsynced = 0;
+    }
+
+    /**
+     * Returns the maximum number of elements the queue can hold.
+     * @return the capacity of the queue
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Forces outstanding data unless the policy is {@link FsyncPolicy#NEVER} and closes the index file.
+     * @throws IOException if the index file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (policy != FsyncPolicy.NEVER) {
+            sync();
+        }
+        indexChannel.close();
+    }
+
+    // Rebuilds the in-memory state from the index file and a scan of the segments from the head onwards.
+    private void recover() throws IOException {
+        indexChannel = FileChannel.open(directory.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+
+        List<Long> ids = segmentIds();
+        long packed = index.getLong(0);
+        headSegmentId = packed >>> 32;
+        headOffset = (int) packed;
+        if (ids.isEmpty() || headSegmentId < ids.get(0) || headSegmentId > ids.get(ids.size() - 1)
+                || headOffset < 0 || headOffset > segmentSize - Integer.BYTES) {
+            headSegmentId = ids.isEmpty() ? 0 : ids.get(0);
+            headOffset = 0;
+        }
+        for (long id : ids) {
+            if (id < headSegmentId) {
+                Files.deleteIfExists(segmentPath(id));
+            }
+        }
+
+        count = 0;
+        tailSegmentId = headSegmentId;
+        tailSegment = mapSegment(headSegmentId);
+        headSegment = tailSegment;
+        tailOffset = scan(tailSegment, headOffset);
+        for (long id : ids) {
+            if (id <= headSegmentId) {
+                continue;
+            }
+            if (lengthWord(tailSegment, tailOffset) != 0) {
+                break; // the previous segment ended in a torn record, so nothing after it is trustworthy
+            }
+            tailSegmentId = id;
+            tailSegment = mapSegment(id);
+            tailOffset = scan(tailSegment, 0);
+        }
+        for (long id : ids) {
+            if (id > tailSegmentId) {
+                Files.deleteIfExists(segmentPath(id));
+            }
+        }
+        tailSegment.putInt(tailOffset, 0); // a torn record left at the tail is discarded
+        writeHead();
+    }
+
+    // Counts the valid records of a segment from the given offset and returns the offset just past the last one.
+    private int scan(MappedByteBuffer segment, int offset) {
+        while (offset + HEADER <= segmentSize) {
+            int word = lengthWord(segment, offset);
+            if (word <= 0 || offset + HEADER + (word - 1) > segmentSize) {
+                break;
+            }
+            int length = word - 1;
+            crc.reset();
+            crc.update(segment.slice(offset + HEADER, length));
+            if ((int) crc.getValue() != segment.getInt(offset + Integer.BYTES)) {
+                break;
+            }
+            offset += HEADER + length;
+            count++;
+        }
+        return offset;
+    }
+
+    // The stored length word: the payload length plus one, or zero where no record has been written.
+    private int lengthWord(MappedByteBuffer segment, int offset) {
+        return offset + Integer.BYTES <= segmentSize ? segment.getInt(offset) : 0;
+    }
+
+    private void rollTail() throws IOException {
+        if (policy != FsyncPolicy.NEVER) {
+            tailSegment.force();
+        }
+        tailSegmentId++;
+        tailSegment = mapSegment(tailSegmentId);
+        tailOffset = 0;
+    }
+
+    private void advanceHeadSegment() throws IOException {
+        long finished = headSegmentId;
+        headSegmentId++;
+        headSegment = headSegmentId == tailSegmentId ? tailSegment : mapSegment(headSegmentId);
+        headOffset = 0;
+        writeHead();
+        Files.deleteIfExists(segmentPath(finished));
+    }
+
+    private void writeHead() {
+        index.putLong(0, (headSegmentId << 32) | (headOffset & 0xFFFFFFFFL));
+    }
+
+    private MappedByteBuffer mapSegment(long id) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(id),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> segmentIds() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                ids.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+}
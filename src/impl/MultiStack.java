@@ -0,0 +1,168 @@
+package impl;
+
+import common.StackEmptyException;
+import common.StackOverflowException;
+import interfaces.IMultiStack;
+import interfaces.IStack;
+
+/**
+ * K stacks packed into one array, each growing upwards from its own base.
+ * When a stack runs into its neighbour's base, the free space is redistributed among all stacks following
+ * Garwick's algorithm: a tenth is shared equally and the rest in proportion to each stack's growth since
+ * the previous redistribution. A push only overflows once the whole array is full.
+ */
+public class MultiStack implements IMultiStack {
+    private Object[] data;      //the shared array
+    private int[] base;         //base[i] is the first slot of stack i; base[k] is the array length
+    private int[] top;          //top[i] is the slot above the top element of stack i
+    private int[] oldSize;      //size of each stack at the last redistribution
+    private Lane[] lanes;
+
+    public MultiStack(int stackCount, int maxSize) {
+        if (stackCount <= 0) {
+            throw new IllegalArgumentException("stackCount must be positive");
+        }
+        data = new Object[maxSize];
+        base = new int[stackCount + 1];
+        top = new int[stackCount];
+        oldSize = new int[stackCount];
+        lanes = new Lane[stackCount];
+        for (int i = 0; i <= stackCount; i++) {
+            base[i] = (int) ((long) i * maxSize / stackCount);
+        }
+        for (int i = 0; i < stackCount; i++) {
+            top[i] = base[i];
+            lanes[i] = new Lane(i);
+        }
+    }
+
+    @Override
+    public IStack getStack(int index) {
+        return lanes[index];
+    }
+
+    @Override
+    public int getStackCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Returns the number of unused slots in the shared array.
+     * @return the free space left across all stacks
+     */
+    public int freeSpace() {
+        int used = 0;
+        for (int i = 0; i < lanes.length; i++) {
+            used += top[i] - base[i];
+        }
+        return data.length - used;
+    }
+
+    // Redistributes free space so that stack full has room for one more element.
+    private void reallocate(int full) throws StackOverflowException {
+        int k = lanes.length;
+        int free = freeSpace() - 1;     // the slot about to be taken by the pending push
+        if (free < 0) {
+            throw new StackOverflowException();
+        }
+        long totalGrowth = 0;
+        int[] size = new int[k];
+        int[] growth = new int[k];
+        for (int i = 0; i < k; i++) {
+            size[i] = top[i] - base[i] + (i == full ? 1 : 0);
+            growth[i] = Math.max(0, size[i] - oldSize[i]);
+            totalGrowth += growth[i];
+        }
+
+        double equalShare = 0.1 * free / k;
+        double growthShare = totalGrowth == 0 ? 0 : 0.9 * free / totalGrowth;
+        int[] newBase = new int[k + 1];
+        newBase[k] = data.length;
+        double sigma = 0;
+        for (int i = 1; i < k; i++) {
+            double tau = sigma + equalShare + growth[i - 1] * growthShare;
+            newBase[i] = newBase[i - 1] + size[i - 1] + (int) Math.floor(tau) - (int) Math.floor(sigma);
+            sigma = tau;
+        }
+
+        // Stacks moving down are shifted lowest first, stacks moving up highest first, so none overwrites another.
+        for (int i = 1; i < k; i++) {
+            if (newBase[i] < base[i]) {
+                move(i, newBase[i]);
+            }
+        }
+        for (int i = k - 1; i >= 1; i--) {
+            if (newBase[i] > base[i]) {
+                move(i, newBase[i]);
+            }
+        }
+        for (int i = 0; i < k; i++) {
+            for (int j = top[i]; j < base[i + 1]; j++) {
+                data[j] = null;
+            }
+            oldSize[i] = top[i] - base[i];
+        }
+    }
+
+    private void move(int stack, int newBase) {
+        int size = top[stack] - base[stack];
+        System.arraycopy(data, base[stack], data, newBase, size);
+        base[stack] = newBase;
+        top[stack] = newBase + size;
+    }
+
+    /**
+     * View of one stack in the shared array.
+     */
+    private final class Lane implements IStack {
+        private final int index;
+
+        Lane(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void push(Object element) throws StackOverflowException {
+            if (top[index] == base[index + 1]) {
+                reallocate(index);
+            }
+            data[top[index]++] = element;
+        }
+
+        @Override
+        public Object pop() throws StackEmptyException {
+            if (top[index] == base[index]) {
+                throw new StackEmptyException();
+            }
+            Object popped = data[--top[index]];
+            data[top[index]] = null;
+            return popped;
+        }
+
+        @Override
+        public Object top() throws StackEmptyException {
+            if (top[index] == base[index]) {
+                throw new StackEmptyException();
+            }
+            return data[top[index] - 1];
+        }
+
+        @Override
+        public int size() {
+            return top[index] - base[index];
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return top[index] == base[index];
+        }
+
+        @Override
+        public void clear() {
+            for (int i = base[index]; i < top[index]; i++) {
+                data[i] = null;
+            }
+            top[index] = base[index];
+        }
+    }
+}
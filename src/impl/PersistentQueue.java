@@ -0,0 +1,178 @@
+package impl;
+
+import common.QueueEmptyException;
+import common.StackEmptyException;
+import interfaces.IPersistentQueue;
+
+/**
+ * Immutable FIFO queue after Okasaki's real-time queue. enqueue() and dequeue() return new versions in
+ * worst-case O(1) time, sharing structure with the version they came from, so keeping a version costs O(1).
+ *
+ * The front is a lazy list and the rear a {@link PersistentStack}. When the rear grows longer than the front,
+ * the rear is reversed onto the front lazily, one cell per later operation, driven by a schedule pointing
+ * at the first unevaluated cell. Evaluation is memoized under the cell's lock, so versions can be shared
+ * between threads without any further locking.
+ */
+public final class PersistentQueue implements IPersistentQueue {
+    private static final PersistentQueue EMPTY =
+            new PersistentQueue(LazyList.NIL, 0, PersistentStack.empty(), LazyList.NIL);
+
+    private final LazyList front;           //oldest elements, oldest first
+    private final int frontSize;
+    private final PersistentStack rear;     //newest elements, newest on top
+    private final LazyList schedule;        //unevaluated suffix of front; its length is frontSize - rear.size()
+
+    private PersistentQueue(LazyList front, int frontSize, PersistentStack rear, LazyList schedule) {
+        this.front = front;
+        this.frontSize = frontSize;
+        this.rear = rear;
+        this.schedule = schedule;
+    }
+
+    /**
+     * Returns the empty queue.
+     * @return the empty queue
+     */
+    public static PersistentQueue empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a new version with an element added at the back.
+     * @param element the element to add
+     * @return the new version
+     */
+    @Override
+    public PersistentQueue enqueue(Object element) {
+        return make(front, frontSize, rear.push(element), schedule);
+    }
+
+    /**
+     * Returns the version without this version's head element.
+     * @return the new version
+     * @throws QueueEmptyException if the queue is empty
+     */
+    @Override
+    public PersistentQueue dequeue() throws QueueEmptyException {
+        if (isEmpty()) {
+            throw new QueueEmptyException();
+        }
+        return make(front.tail(), frontSize - 1, rear, schedule);
+    }
+
+    /**
+     * Returns the element at the head of the queue.
+     * @return the head element
+     * @throws QueueEmptyException if the queue is empty
+     */
+    @Override
+    public Object head() throws QueueEmptyException {
+        if (isEmpty()) {
+            throw new QueueEmptyException();
+        }
+        return front.head();
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return the size of the queue
+     */
+    @Override
+    public int size() {
+        return frontSize + rear.size();
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if the queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Advances the schedule by one cell, or starts a new rotation once the rear has outgrown the front.
+    private static PersistentQueue make(LazyList front, int frontSize, PersistentStack rear, LazyList schedule) {
+        if (!schedule.isEmpty()) {
+            return new PersistentQueue(front, frontSize, rear, schedule.tail());
+        }
+        LazyList rotated = LazyList.rotation(front, rear, LazyList.NIL);
+        return new PersistentQueue(rotated, frontSize + rear.size(), PersistentStack.empty(), rotated);
+    }
+
+    /**
+     * Memoized lazy list cell. A cell is either evaluated, holding its element and tail, or a suspended
+     * rotation which on first access yields front.head followed by the rotation of the remainder.
+     */
+    private static final class LazyList {
+        static final LazyList NIL = new LazyList();
+
+        private boolean evaluated;
+        private boolean empty;
+        private Object head;
+        private LazyList tail;
+        private LazyList rotateFront;       //suspended rotation: front ++ reverse(rear) ++ accumulated
+        private PersistentStack rotateRear;
+        private LazyList accumulated;
+
+        private LazyList() {
+            evaluated = true;
+            empty = true;
+        }
+
+        private LazyList(Object head, LazyList tail) {
+            evaluated = true;
+            this.head = head;
+            this.tail = tail;
+        }
+
+        private LazyList(LazyList front, PersistentStack rear, LazyList accumulated) {
+            this.rotateFront = front;
+            this.rotateRear = rear;
+            this.accumulated = accumulated;
+        }
+
+        // rear must hold exactly one more element than front.
+        static LazyList rotation(LazyList front, PersistentStack rear, LazyList accumulated) {
+            return new LazyList(front, rear, accumulated);
+        }
+
+        synchronized boolean isEmpty() {
+            force();
+            return empty;
+        }
+
+        synchronized Object head() {
+            force();
+            return head;
+        }
+
+        synchronized LazyList tail() {
+            force();
+            return tail;
+        }
+
+        private void force() {
+            if (evaluated) {
+                return;
+            }
+            try {
+                Object rearTop = rotateRear.top();
+                LazyList withRearTop = new LazyList(rearTop, accumulated);
+                if (rotateFront.isEmpty()) {
+                    head = rearTop;
+                    tail = accumulated;
+                } else {
+                    head = rotateFront.head();
+                    tail = rotation(rotateFront.tail(), rotateRear.pop(), withRearTop);
+                }
+            } catch (StackEmptyException e) {
+                throw new AssertionError("Rotation ran out of rear elements", e);
+            }
+            rotateFront = null;
+            rotateRear = null;
+            accumulated = null;
+            evaluated = true;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package impl;
+
+import common.StackEmptyException;
+import interfaces.IPersistentStack;
+
+/**
+ * Immutable stack held as a cons list. push() and pop() return new versions which share every
+ * unchanged entry with the version they came from, so keeping a version costs O(1).
+ * Versions never change after construction and can be shared freely between threads.
+ */
+public final class PersistentStack implements IPersistentStack {
+    private static final PersistentStack EMPTY = new PersistentStack(null, null, 0);
+
+    private final Object top;               //element on top of this version
+    private final PersistentStack rest;     //the version this one was pushed onto
+    private final int size;
+
+    private PersistentStack(Object top, PersistentStack rest, int size) {
+        this.top = top;
+        this.rest = rest;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty stack.
+     * @return the empty stack
+     */
+    public static PersistentStack empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a new version with an element pushed on top of this one.
+     * @param element the element to push
+     * @return the new version
+     */
+    @Override
+    public PersistentStack push(Object element) {
+        return new PersistentStack(element, this, size + 1);
+    }
+
+    /**
+     * Returns the version without this version's top element.
+     * @return the version below this one
+     * @throws StackEmptyException if the stack is empty
+     */
+    @Override
+    public PersistentStack pop() throws StackEmptyException {
+        if (size == 0) {
+            throw new StackEmptyException();
+        }
+        return rest;
+    }
+
+    /**
+     * Returns the top element.
+     * @return the top element
+     * @throws StackEmptyException if the stack is empty
+     */
+    @Override
+    public Object top() throws StackEmptyException {
+        if (size == 0) {
+            throw new StackEmptyException();
+        }
+        return top;
+    }
+
+    /**
+     * Returns the number of elements in the stack.
+     * @return the size of the stack
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the stack is empty.
+     * @return true if the stack is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
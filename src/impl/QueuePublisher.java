@@ -0,0 +1,216 @@
+package impl;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import interfaces.IPublishingQueue;
+import interfaces.IQueue;
+
+/**
+ * Publishes the elements of an {@link IQueue} to a single {@link Flow.Subscriber}, delivering exactly as many
+ * as the subscriber has requested.
+ *
+ * Producers enqueue through the publisher itself, which guards the wrapped queue with a lock and then drains
+ * it on the calling thread. The same happens when the subscriber requests more. There is no polling:
+ * elements wait in the queue until there is demand for them. When demand runs out, the queue fills and
+ * enqueue() throws QueueFullException, which is the backpressure seen by producers.
+ */
+public class QueuePublisher implements IPublishingQueue {
+    private static final int DEFAULT_BATCH = 64;
+
+    private final IQueue queue;
+    private final Object lock = new Object();
+    private final Object[] batch;                       //elements taken from the queue in one lock hold
+    private final AtomicInteger wip = new AtomicInteger();  //serialises drain(); non-zero while one is running
+    private final AtomicLong requested = new AtomicLong();
+    private volatile Flow.Subscriber<Object> subscriber;
+    private volatile boolean cancelled;
+    private volatile boolean completed;
+    private volatile boolean terminated;
+    private volatile Throwable error;
+
+    public QueuePublisher(IQueue queue) {
+        this(queue, DEFAULT_BATCH);
+    }
+
+    public QueuePublisher(IQueue queue, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.queue = queue;
+        this.batch = new Object[batchSize];
+    }
+
+    /**
+     * Subscribes the subscriber; a publisher serves one subscriber at a time.
+     * @param candidate the subscriber
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Object> candidate) {
+        boolean accepted;
+        synchronized (lock) {
+            accepted = subscriber == null;
+            if (accepted) {
+                subscriber = candidate;
+            }
+        }
+        if (!accepted) {
+            candidate.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            candidate.onError(new IllegalStateException("QueuePublisher already has a subscriber"));
+            return;
+        }
+        candidate.onSubscribe(new Subscription());
+        drain();
+    }
+
+    /**
+     * Enqueues an element and delivers it at once if the subscriber has outstanding demand.
+     * @param element the element to add
+     * @throws QueueFullException if the queue is full
+     * @throws IllegalStateException if complete() has been called
+     */
+    @Override
+    public void enqueue(Object element) throws QueueFullException {
+        synchronized (lock) {
+            // checked under the lock, so an element either lands before completion or is refused
+            if (completed) {
+                throw new IllegalStateException("QueuePublisher has been completed");
+            }
+            queue.enqueue(element);
+        }
+        drain();
+    }
+
+    /**
+     * Removes the element at the head of the queue without publishing it.
+     * @return the removed element
+     * @throws QueueEmptyException if the queue is empty
+     */
+    @Override
+    public Object dequeue() throws QueueEmptyException {
+        synchronized (lock) {
+            return queue.dequeue();
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        synchronized (lock) {
+            return queue.isEmpty();
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            queue.clear();
+        }
+    }
+
+    /**
+     * Signals that no more elements will be enqueued; the subscriber completes once the queue is drained.
+     */
+    @Override
+    public void complete() {
+        synchronized (lock) {
+            completed = true;
+        }
+        drain();
+    }
+
+    // Delivers queued elements up to the current demand. Only one thread drains at a time; any other caller
+    // just bumps wip so that the running drain goes round again.
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Flow.Subscriber<Object> s = subscriber;
+            if (s != null && error != null && !terminated) {
+                terminated = true;
+                s.onError(error);
+            } else if (s != null && !cancelled && !terminated) {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled) {
+                    int n = take((int) Math.min(demand - emitted, batch.length));
+                    if (n == 0) {
+                        break;
+                    }
+                    for (int i = 0; i < n; i++) {
+                        Object element = batch[i];
+                        batch[i] = null;
+                        s.onNext(element);
+                    }
+                    emitted += n;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                if (completed && !cancelled && isEmpty()) {
+                    terminated = true;
+                    s.onComplete();
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private int take(int max) {
+        synchronized (lock) {
+            int n = 0;
+            try {
+                while (n < max && !queue.isEmpty()) {
+                    batch[n] = queue.dequeue();
+                    n++;
+                }
+            } catch (QueueEmptyException e) {
+                throw new AssertionError("Queue non-empty but dequeue() failed", e);
+            }
+            return n;
+        }
+    }
+
+    /**
+     * The subscriber's handle on the publisher.
+     */
+    private final class Subscription implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("request(" + n + ") is not positive");
+                drain();
+                return;
+            }
+            requested.accumulateAndGet(n, (current, add) -> {
+                long sum = current + add;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
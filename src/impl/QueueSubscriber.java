@@ -0,0 +1,229 @@
+package impl;
+
+import java.util.concurrent.Flow;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import interfaces.IQueue;
+
+/**
+ * Subscribes to a {@link Flow.Publisher} and buffers what it receives in a bounded {@link IQueue}.
+ * It is the consuming end only: elements arrive from the publisher, so it offers dequeue() but no enqueue().
+ *
+ * The subscriber never requests more than the buffer has room for, so onNext() cannot overflow it: a full
+ * buffer simply stops demand, and the publisher upstream sees that as backpressure. Demand is topped up in
+ * one request once dequeues have freed half the buffer, rather than one element at a time.
+ * Consumers either dequeue() as from a queue or block in take() until an element or the end of the stream
+ * arrives; nothing spins.
+ */
+public class QueueSubscriber implements Flow.Subscriber<Object> {
+    private final IQueue buffer;
+    private final int capacity;
+    private final int replenishAt;              //free space at which outstanding demand is topped up
+    private final Object lock = new Object();
+    private Flow.Subscription subscription;
+    private long outstanding;                   //requested but not yet received
+    private boolean done;
+    private Throwable error;
+
+    public QueueSubscriber(int maxSize) {
+        this(new DoubleStackQueue(maxSize), maxSize);
+    }
+
+    /**
+     * Creates a subscriber which buffers into the given queue.
+     * @param buffer the queue to buffer received elements in; it should be empty
+     * @param capacity the number of elements the buffer can hold
+     */
+    public QueueSubscriber(IQueue buffer, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.replenishAt = Math.max(1, capacity / 2);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription s) {
+        long n;
+        synchronized (lock) {
+            if (subscription != null || done) {
+                s.cancel();
+                return;
+            }
+            subscription = s;
+            n = capacity - buffer.size();
+            outstanding = n;
+        }
+        if (n > 0) {
+            s.request(n);
+        }
+    }
+
+    @Override
+    public void onNext(Object item) {
+        Flow.Subscription cancel = null;
+        synchronized (lock) {
+            if (done) {
+                return;
+            }
+            try {
+                buffer.enqueue(item);
+                outstanding--;
+            } catch (QueueFullException e) {
+                // only a publisher which ignores demand gets here
+                error = new IllegalStateException("Publisher sent more than was requested", e);
+                done = true;
+                cancel = subscription;
+            }
+            lock.notifyAll();
+        }
+        if (cancel != null) {
+            cancel.cancel();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        synchronized (lock) {
+            if (!done) {
+                error = throwable;
+                done = true;
+            }
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (lock) {
+            done = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Dequeues the oldest received element, requesting more from the publisher once there is room for them.
+     * @return the dequeued element
+     * @throws QueueEmptyException if no element has been received
+     */
+    public Object dequeue() throws QueueEmptyException {
+        Object element;
+        synchronized (lock) {
+            element = buffer.dequeue();
+        }
+        replenish();
+        return element;
+    }
+
+    /**
+     * Waits for an element to arrive and dequeues it.
+     * @return the dequeued element
+     * @throws QueueEmptyException if the stream has ended and every element has been taken
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Object take() throws QueueEmptyException, InterruptedException {
+        Object element;
+        synchronized (lock) {
+            while (buffer.isEmpty() && !done) {
+                lock.wait();
+            }
+            element = buffer.dequeue();
+        }
+        replenish();
+        return element;
+    }
+
+    /**
+     * Returns the number of received elements not yet dequeued.
+     * @return the number of buffered elements
+     */
+    public int size() {
+        synchronized (lock) {
+            return buffer.size();
+        }
+    }
+
+    /**
+     * Checks if no received element is waiting to be dequeued.
+     * @return true if the buffer is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        synchronized (lock) {
+            return buffer.isEmpty();
+        }
+    }
+
+    /**
+     * Discards the buffered elements and requests as many again.
+     */
+    public void clear() {
+        synchronized (lock) {
+            buffer.clear();
+        }
+        replenish();
+    }
+
+    /**
+     * Cancels the subscription; elements already buffered can still be dequeued.
+     */
+    public void cancel() {
+        Flow.Subscription s;
+        synchronized (lock) {
+            s = done ? null : subscription;
+            done = true;
+            lock.notifyAll();
+        }
+        if (s != null) {
+            s.cancel();
+        }
+    }
+
+    /**
+     * Checks whether the publisher has completed, failed or been cancelled.
+     * @return true if no more elements will arrive
+     */
+    public boolean isDone() {
+        synchronized (lock) {
+            return done;
+        }
+    }
+
+    /**
+     * Returns the error the stream ended with.
+     * @return the error, or null if the stream has not failed
+     */
+    public Throwable getError() {
+        synchronized (lock) {
+            return error;
+        }
+    }
+
+    /**
+     * Returns the number of elements requested from the publisher but not yet received.
+     * @return the outstanding demand
+     */
+    public long outstanding() {
+        synchronized (lock) {
+            return outstanding;
+        }
+    }
+
+    // Requests enough to fill the buffer once half of it is free. Called outside the lock, as the publisher
+    // may deliver synchronously from request().
+    private void replenish() {
+        Flow.Subscription s;
+        long n;
+        synchronized (lock) {
+            long free = capacity - buffer.size() - outstanding;
+            if (subscription == null || done || free < replenishAt) {
+                return;
+            }
+            s = subscription;
+            n = free;
+            outstanding += n;
+        }
+        s.request(n);
+    }
+}
@@ -0,0 +1,85 @@
+package impl;
+
+import java.nio.ByteBuffer;
+
+import interfaces.IRecordCodec;
+
+/**
+ * Common {@link IRecordCodec} implementations.
+ *
+ */
+public final class RecordCodecs {
+
+    /**
+     * Codec for Long elements, as eight-byte records.
+     */
+    public static final IRecordCodec LONG = new IRecordCodec() {
+        @Override
+        public int recordSize() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Object element, ByteBuffer target) {
+            target.putLong((Long) element);
+        }
+
+        @Override
+        public Object decode(ByteBuffer source) {
+            return source.getLong();
+        }
+    };
+
+    /**
+     * Codec for Integer elements, as four-byte records.
+     */
+    public static final IRecordCodec INTEGER = new IRecordCodec() {
+        @Override
+        public int recordSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Object element, ByteBuffer target) {
+            target.putInt((Integer) element);
+        }
+
+        @Override
+        public Object decode(ByteBuffer source) {
+            return source.getInt();
+        }
+    };
+
+    private RecordCodecs() {
+    }
+
+    /**
+     * Returns a codec for byte[] elements of up to maxLength bytes, stored with a length prefix.
+     * @param maxLength the largest array the codec accepts
+     * @return the codec
+     */
+    public static IRecordCodec bytes(int maxLength) {
+        return new IRecordCodec() {
+            @Override
+            public int recordSize() {
+                return Integer.BYTES + maxLength;
+            }
+
+            @Override
+            public void encode(Object element, ByteBuffer target) {
+                byte[] bytes = (byte[]) element;
+                if (bytes.length > maxLength) {
+                    throw new IllegalArgumentException("Record of " + bytes.length + " bytes exceeds " + maxLength);
+                }
+                target.putInt(bytes.length).put(bytes);
+            }
+
+            @Override
+            public Object decode(ByteBuffer source) {
+                byte[] bytes = new byte[source.getInt()];
+                source.get(bytes);
+                return bytes;
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import interfaces.ISerializer;
+
+/**
+ * Common {@link ISerializer} implementations.
+ *
+ */
+public final class Serializers {
+
+    /**
+     * Serializer for String elements, encoded as UTF-8.
+     */
+    public static final ISerializer STRING = new ISerializer() {
+        @Override
+        public byte[] serialize(Object element) {
+            return ((String) element).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object deserialize(ByteBuffer bytes) {
+            return StandardCharsets.UTF_8.decode(bytes).toString();
+        }
+    };
+
+    /**
+     * Serializer for Integer elements, encoded as four big-endian bytes.
+     */
+    public static final ISerializer INTEGER = new ISerializer() {
+        @Override
+        public byte[] serialize(Object element) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt((Integer) element).array();
+        }
+
+        @Override
+        public Object deserialize(ByteBuffer bytes) {
+            return bytes.getInt();
+        }
+    };
+
+    /**
+     * Serializer for byte[] elements, stored as-is.
+     */
+    public static final ISerializer BYTES = new ISerializer() {
+        @Override
+        public byte[] serialize(Object element) {
+            return (byte[]) element;
+        }
+
+        @Override
+        public Object deserialize(ByteBuffer bytes) {
+            byte[] copy = new byte[bytes.remaining()];
+            bytes.get(copy);
+            return copy;
+        }
+    };
+
+    private Serializers() {
+    }
+}
@@ -0,0 +1,174 @@
+package impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import interfaces.IQueue;
+import interfaces.IRecordCodec;
+
+/**
+ * Single-producer single-consumer queue whose ring, head and tail live in a memory-mapped file, so that two
+ * processes on the same host can hand elements over through shared memory, with no socket and no broker.
+ * Each process opens the same file; one of them only enqueues and the other only dequeues.
+ *
+ * The file starts with a header [magic][capacity][record size], followed by the head counter and the tail
+ * counter on cache lines of their own, followed by the ring of fixed-size records. A record is written before
+ * the tail is advanced with release semantics, and read after the tail is loaded with acquire semantics;
+ * head works the same way in the other direction.
+ */
+public class SharedMemoryQueue implements IQueue, AutoCloseable {
+    private static final int MAGIC = 0x53484D51;    //"SHMQ"
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int RECORD_SIZE_OFFSET = 8;
+    private static final int HEAD_OFFSET = 128;
+    private static final int TAIL_OFFSET = 256;
+    private static final int DATA_OFFSET = 384;
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final MappedByteBuffer shared;
+    private final ByteBuffer producerView;  //slot window used by enqueue
+    private final ByteBuffer consumerView;  //slot window used by dequeue
+    private final IRecordCodec codec;
+    private final int capacity;
+    private final int recordSize;
+    private long headCache;                 //producer's last view of head
+    private long tailCache;                 //consumer's last view of tail
+
+    public SharedMemoryQueue(Path file, int maxSize, IRecordCodec codec) throws IOException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.codec = codec;
+        this.capacity = maxSize;
+        this.recordSize = codec.recordSize();
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        shared = channel.map(FileChannel.MapMode.READ_WRITE, 0, DATA_OFFSET + (long) maxSize * recordSize);
+        if ((int) INT.getAcquire(shared, 0) == 0) {
+            shared.putInt(CAPACITY_OFFSET, maxSize);
+            shared.putInt(RECORD_SIZE_OFFSET, recordSize);
+            INT.setRelease(shared, 0, MAGIC);
+        } else if ((int) INT.getAcquire(shared, 0) != MAGIC
+                || shared.getInt(CAPACITY_OFFSET) != maxSize || shared.getInt(RECORD_SIZE_OFFSET) != recordSize) {
+            channel.close();
+            throw new IOException(file + " holds a queue with a different layout");
+        }
+        producerView = shared.duplicate();
+        consumerView = shared.duplicate();
+        headCache = (long) LONG.getAcquire(shared, HEAD_OFFSET);
+        tailCache = (long) LONG.getAcquire(shared, TAIL_OFFSET);
+    }
+
+    /**
+     * Returns a path for the named queue under /dev/shm, or under the temporary directory where there is no /dev/shm.
+     * @param name the file name of the queue
+     * @return the path of the queue file
+     */
+    public static Path defaultPath(String name) {
+        Path shm = Paths.get("/dev/shm");
+        return Files.isDirectory(shm) ? shm.resolve(name) : Paths.get(System.getProperty("java.io.tmpdir"), name);
+    }
+
+    /**
+     * Enqueues an element at the back of the queue. Producer process only.
+     * @param element the element to add
+     * @throws QueueFullException if the queue is full
+     */
+    @Override
+    public void enqueue(Object element) throws QueueFullException {
+        long tail = (long) LONG.getOpaque(shared, TAIL_OFFSET);
+        if (tail - headCache >= capacity) {
+            headCache = (long) LONG.getAcquire(shared, HEAD_OFFSET);
+            if (tail - headCache >= capacity) {
+                throw new QueueFullException();
+            }
+        }
+        int offset = slot(tail);
+        producerView.limit(offset + recordSize).position(offset);
+        codec.encode(element, producerView);
+        LONG.setRelease(shared, TAIL_OFFSET, tail + 1);
+    }
+
+    /**
+     * Dequeues an element from the front of the queue. Consumer process only.
+     * @return the dequeued element
+     * @throws QueueEmptyException if the queue is empty
+     */
+    @Override
+    public Object dequeue() throws QueueEmptyException {
+        long head = (long) LONG.getOpaque(shared, HEAD_OFFSET);
+        if (head >= tailCache) {
+            tailCache = (long) LONG.getAcquire(shared, TAIL_OFFSET);
+            if (head >= tailCache) {
+                throw new QueueEmptyException();
+            }
+        }
+        int offset = slot(head);
+        consumerView.limit(offset + recordSize).position(offset);
+        Object element = codec.decode(consumerView);
+        LONG.setRelease(shared, HEAD_OFFSET, head + 1);
+        return element;
+    }
+
+    /**
+     * Returns the number of elements in the queue; only a snapshot while the other side is active.
+     * @return the size of the queue
+     */
+    @Override
+    public int size() {
+        long head = (long) LONG.getAcquire(shared, HEAD_OFFSET);
+        long tail = (long) LONG.getAcquire(shared, TAIL_OFFSET);
+        return (int) Math.max(0, Math.min(tail - head, capacity));
+    }
+
+    /**
+     * Checks if the queue is empty; only a snapshot while the other side is active.
+     * @return true if the queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Clears the queue by consuming every element currently visible. Consumer process only.
+     */
+    @Override
+    public void clear() {
+        tailCache = (long) LONG.getAcquire(shared, TAIL_OFFSET);
+        LONG.setRelease(shared, HEAD_OFFSET, tailCache);
+    }
+
+    /**
+     * Returns the maximum number of elements the queue can hold.
+     * @return the capacity of the queue
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Closes the file; the mapping itself is released when the queue is garbage collected.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int slot(long sequence) {
+        return DATA_OFFSET + (int) (sequence % capacity) * recordSize;
+    }
+}
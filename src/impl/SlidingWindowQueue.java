@@ -0,0 +1,139 @@
+package impl;
+
+import java.util.function.BinaryOperator;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import common.StackEmptyException;
+import common.StackOverflowException;
+import interfaces.IAggregatingQueue;
+
+/**
+ * DoubleStack-based queue which also maintains the aggregate of its elements under an associative combiner,
+ * using the two-stack sliding-window aggregation technique.
+ *
+ * The back stack keeps one running aggregate of everything on it. Each entry of the front stack keeps the
+ * aggregate of itself and every entry below it, which is rebuilt when the back stack is transferred.
+ * enqueue(), dequeue() and query() are all amortized O(1). The combiner need not be commutative:
+ * elements are always combined oldest first.
+ */
+public class SlidingWindowQueue implements IAggregatingQueue {
+    private DoubleStack doubleStack;
+    private Stack backStack;                //newest elements, newest on top
+    private Stack frontStack;               //oldest elements, oldest on top
+    private Object[] frontAggregates;       //frontAggregates[i] combines front entries i down to 0, oldest first
+    private Object backAggregate;           //combination of the whole back stack, oldest first
+    private BinaryOperator<Object> combiner;
+    private int capacity;
+
+    public SlidingWindowQueue(int maxSize, BinaryOperator<Object> combiner) {
+        doubleStack = new DoubleStack(2 * maxSize);
+        backStack = doubleStack.getFirstStack();
+        frontStack = doubleStack.getSecondStack();
+        frontAggregates = new Object[maxSize];
+        this.combiner = combiner;
+        capacity = maxSize;
+    }
+
+    /**
+     * Enqueues an element at the back of the queue and folds it into the back aggregate.
+     * @param element the element to add
+     * @throws QueueFullException if the queue is full
+     */
+    @Override
+    public void enqueue(Object element) throws QueueFullException {
+        if (size() == capacity) {
+            throw new QueueFullException();
+        }
+        try {
+            backStack.push(element);
+        } catch (StackOverflowException impossible) {
+            throw new IllegalStateException("Unexpected overflow in enqueue()", impossible);
+        }
+        backAggregate = backStack.size() == 1 ? element : combiner.apply(backAggregate, element);
+    }
+
+    /**
+     * Dequeues an element from the front of the queue.
+     * @return the dequeued element
+     * @throws QueueEmptyException if the queue is empty
+     */
+    @Override
+    public Object dequeue() throws QueueEmptyException {
+        if (isEmpty()) {
+            throw new QueueEmptyException();
+        }
+        if (frontStack.isEmpty()) {
+            transfer();
+        }
+        try {
+            frontAggregates[frontStack.size() - 1] = null;
+            return frontStack.pop();
+        } catch (StackEmptyException e) {
+            throw new AssertionError("Front non-empty but pop() failed", e);
+        }
+    }
+
+    /**
+     * Returns the aggregate of every element in the queue, combined from oldest to newest.
+     * @return the aggregate of the window
+     * @throws QueueEmptyException if the queue is empty
+     */
+    @Override
+    public Object query() throws QueueEmptyException {
+        if (isEmpty()) {
+            throw new QueueEmptyException();
+        }
+        if (frontStack.isEmpty()) {
+            return backAggregate;
+        }
+        Object front = frontAggregates[frontStack.size() - 1];
+        return backStack.isEmpty() ? front : combiner.apply(front, backAggregate);
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return the size of the queue
+     */
+    @Override
+    public int size() {
+        return frontStack.size() + backStack.size();
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if the queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return frontStack.isEmpty() && backStack.isEmpty();
+    }
+
+    /**
+     * Clears the queue.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < frontStack.size(); i++) {
+            frontAggregates[i] = null;
+        }
+        frontStack.clear();
+        backStack.clear();
+        backAggregate = null;
+    }
+
+    // Moves the back stack onto the front stack, newest first, so that each entry's aggregate extends the one below.
+    private void transfer() {
+        try {
+            while (!backStack.isEmpty()) {
+                Object x = backStack.pop();
+                int below = frontStack.size();
+                frontAggregates[below] = below == 0 ? x : combiner.apply(x, frontAggregates[below - 1]);
+                frontStack.push(x);
+            }
+        } catch (StackEmptyException | StackOverflowException e) {
+            throw new IllegalStateException("Unexpected stack failure during transfer", e);
+        }
+        backAggregate = null;
+    }
+}
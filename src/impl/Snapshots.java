@@ -0,0 +1,230 @@
+package impl;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import interfaces.ISerializer;
+
+/**
+ * Binary snapshots of {@link DoubleStack} and {@link DoubleStackQueue} state, for moving them between processes
+ * without draining and replaying every element.
+ *
+ * A snapshot is a header [magic][version][kind][array length][capacity][first top][second top] followed by the
+ * live region of the first stack and then the live region of the second stack, each in ascending array order.
+ * Elements are written as [length][bytes] through an {@link ISerializer}, with a length of -1 standing for null.
+ * Restoring fills the regions back into a fresh array at the same positions and sets both tops directly.
+ * It never reads past the end of the snapshot, so the channel may carry further data, such as another snapshot.
+ */
+public final class Snapshots {
+
+    private static final int MAGIC = 0x5351534E;    //"SQSN"
+    private static final byte VERSION = 1;
+    private static final byte DOUBLE_STACK = 0;
+    private static final byte DOUBLE_STACK_QUEUE = 1;
+    private static final int HEADER = Integer.BYTES + 2 + 4 * Integer.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private Snapshots() {
+    }
+
+    /**
+     * Writes a snapshot of a double stack.
+     * @param doubleStack the double stack to write
+     * @param out the channel to write to
+     * @param serializer the serializer for the elements
+     * @throws IOException if writing fails
+     */
+    public static void write(DoubleStack doubleStack, WritableByteChannel out, ISerializer serializer)
+            throws IOException {
+        write(DOUBLE_STACK, doubleStack, doubleStack.getFirstStack().array().length, out, serializer);
+    }
+
+    /**
+     * Writes a snapshot of a double stack queue.
+     * @param queue the queue to write
+     * @param out the channel to write to
+     * @param serializer the serializer for the elements
+     * @throws IOException if writing fails
+     */
+    public static void write(DoubleStackQueue queue, WritableByteChannel out, ISerializer serializer)
+            throws IOException {
+        write(DOUBLE_STACK_QUEUE, queue.doubleStack(), queue.capacity(), out, serializer);
+    }
+
+    /**
+     * Restores a double stack from a snapshot written by {@link #write(DoubleStack, WritableByteChannel, ISerializer)}.
+     * @param in the channel to read from
+     * @param serializer the serializer for the elements
+     * @return the restored double stack
+     * @throws IOException if reading fails or the snapshot is malformed
+     */
+    public static DoubleStack readDoubleStack(ReadableByteChannel in, ISerializer serializer) throws IOException {
+        Reader reader = new Reader(in);
+        int capacity = readHeader(reader, DOUBLE_STACK);
+        DoubleStack doubleStack = new DoubleStack(capacity);
+        readRegions(reader, doubleStack, serializer);
+        return doubleStack;
+    }
+
+    /**
+     * Restores a double stack queue from a snapshot written by
+     * {@link #write(DoubleStackQueue, WritableByteChannel, ISerializer)}.
+     * @param in the channel to read from
+     * @param serializer the serializer for the elements
+     * @return the restored queue
+     * @throws IOException if reading fails or the snapshot is malformed
+     */
+    public static DoubleStackQueue readDoubleStackQueue(ReadableByteChannel in, ISerializer serializer)
+            throws IOException {
+        Reader reader = new Reader(in);
+        int capacity = readHeader(reader, DOUBLE_STACK_QUEUE);
+        DoubleStackQueue queue = new DoubleStackQueue(capacity);
+        readRegions(reader, queue.doubleStack(), serializer);
+        return queue;
+    }
+
+    private static void write(byte kind, DoubleStack doubleStack, int capacity, WritableByteChannel out,
+                              ISerializer serializer) throws IOException {
+        Stack first = doubleStack.getFirstStack();
+        Stack second = doubleStack.getSecondStack();
+        Object[] data = first.array();
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.putInt(MAGIC).put(VERSION).put(kind)
+                .putInt(data.length).putInt(capacity).putInt(first.size()).putInt(second.size());
+        buffer = writeRegion(data, first.regionStart(), first.size(), buffer, out, serializer);
+        buffer = writeRegion(data, second.regionStart(), second.size(), buffer, out, serializer);
+        buffer.flip();
+        drain(buffer, out);
+    }
+
+    private static ByteBuffer writeRegion(Object[] data, int from, int length, ByteBuffer buffer,
+                                          WritableByteChannel out, ISerializer serializer) throws IOException {
+        for (int i = from; i < from + length; i++) {
+            byte[] bytes = data[i] == null ? null : serializer.serialize(data[i]);
+            int needed = Integer.BYTES + (bytes == null ? 0 : bytes.length);
+            if (buffer.remaining() < needed) {
+                buffer.flip();
+                drain(buffer, out);
+                buffer.clear();
+                if (buffer.capacity() < needed) {
+                    buffer = ByteBuffer.allocate(needed);
+                }
+            }
+            if (bytes == null) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(bytes.length).put(bytes);
+            }
+        }
+        return buffer;
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    // Validates the header against the expected kind and returns the capacity to construct with.
+    private static int readHeader(Reader reader, byte kind) throws IOException {
+        ByteBuffer header = reader.require(HEADER);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a snapshot");
+        }
+        byte version = header.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        if (header.get() != kind) {
+            throw new IOException("Snapshot is of a different kind");
+        }
+        int arrayLength = header.getInt();
+        int capacity = header.getInt();
+        reader.firstTop = header.getInt();
+        reader.secondTop = header.getInt();
+        int expectedLength = kind == DOUBLE_STACK ? capacity : 2 * capacity;
+        if (capacity < 0 || arrayLength != expectedLength || reader.firstTop < 0 || reader.secondTop < 0) {
+            throw new IOException("Corrupt snapshot header");
+        }
+        reader.owe((long) Integer.BYTES * ((long) reader.firstTop + reader.secondTop));
+        return capacity;
+    }
+
+    private static void readRegions(Reader reader, DoubleStack doubleStack, ISerializer serializer)
+            throws IOException {
+        Stack first = doubleStack.getFirstStack();
+        Stack second = doubleStack.getSecondStack();
+        if (reader.firstTop > first.capacity() || reader.secondTop > second.capacity()) {
+            throw new IOException("Corrupt snapshot header");
+        }
+        first.setSize(reader.firstTop);
+        second.setSize(reader.secondTop);
+        Object[] data = first.array();
+        readRegion(reader, data, first.regionStart(), first.size(), serializer);
+        readRegion(reader, data, second.regionStart(), second.size(), serializer);
+    }
+
+    private static void readRegion(Reader reader, Object[] data, int from, int length, ISerializer serializer)
+            throws IOException {
+        for (int i = from; i < from + length; i++) {
+            int size = reader.require(Integer.BYTES).getInt();
+            if (size == -1) {
+                data[i] = null;
+            } else if (size < 0) {
+                throw new IOException("Corrupt element length " + size);
+            } else {
+                reader.owe(size);
+                ByteBuffer bytes = reader.require(size);
+                data[i] = serializer.deserialize(bytes.slice(bytes.position(), size));
+                bytes.position(bytes.position() + size);
+            }
+        }
+    }
+
+    /**
+     * Buffered reader over a channel which hands out views of at least the requested number of bytes.
+     * It reads ahead only as far as the bytes the snapshot is known to still hold: the header, a length prefix
+     * per element and, once each prefix has been read, the element's payload.
+     */
+    private static final class Reader {
+        private ReadableByteChannel in;
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).limit(0);
+        private long owed = HEADER;     //bytes of the snapshot not yet read from the channel
+        private int firstTop;
+        private int secondTop;
+
+        Reader(ReadableByteChannel in) {
+            this.in = in;
+        }
+
+        void owe(long bytes) {
+            owed += bytes;
+        }
+
+        ByteBuffer require(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                if (buffer.capacity() < bytes) {
+                    buffer = ByteBuffer.allocate(bytes).put(buffer).flip();
+                }
+                buffer.compact();
+                buffer.limit((int) Math.min(buffer.capacity(), buffer.position() + owed));
+                while (buffer.position() < bytes) {
+                    if (!buffer.hasRemaining()) {
+                        throw new IOException("Corrupt snapshot");
+                    }
+                    int read = in.read(buffer);
+                    if (read < 0) {
+                        throw new EOFException("Truncated snapshot");
+                    }
+                    owed -= read;
+                }
+                buffer.flip();
+            }
+            return buffer;
+        }
+    }
+}
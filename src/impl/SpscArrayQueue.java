@@ -0,0 +1,163 @@
+package impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import interfaces.IQueue;
+
+/**
+ * Padding placed between the object header and the producer's fields.
+ * HotSpot lays superclass fields out before subclass fields, so padding classes in the hierarchy keep
+ * the counters on cache lines of their own; 128 bytes also covers the adjacent-line prefetcher.
+ */
+abstract class SpscPadHeader {
+    long p00, p01, p02, p03, p04, p05, p06, p07, p08, p09, p0a, p0b, p0c, p0d, p0e, p0f;
+}
+
+/**
+ * Fields written by the producer.
+ */
+abstract class SpscProducerFields extends SpscPadHeader {
+    long tail;          //next sequence to write, published with release semantics
+    long headCache;     //producer's last view of head, so it only reads head when the queue looks full
+}
+
+abstract class SpscPadProducer extends SpscProducerFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17, p18, p19, p1a, p1b, p1c, p1d, p1e, p1f;
+}
+
+/**
+ * Fields written by the consumer.
+ */
+abstract class SpscConsumerFields extends SpscPadProducer {
+    long head;          //next sequence to read, published with release semantics
+    long tailCache;     //consumer's last view of tail, so it only reads tail when the queue looks empty
+}
+
+abstract class SpscPadConsumer extends SpscConsumerFields {
+    long p20, p21, p22, p23, p24, p25, p26, p27, p28, p29, p2a, p2b, p2c, p2d, p2e, p2f;
+}
+
+/**
+ * Bounded single-producer single-consumer queue over a ring array.
+ * One thread may enqueue while another dequeues without locking. The head and tail counters sit on separate
+ * padded cache lines, away from the read-only array reference and capacity, so the two cores do not keep
+ * invalidating each other's lines.
+ *
+ * enqueue() must only be called from one producer thread, and dequeue() and clear() from one consumer thread.
+ */
+public class SpscArrayQueue extends SpscPadConsumer implements IQueue {
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(SpscConsumerFields.class, "head", long.class);
+            TAIL = lookup.findVarHandle(SpscProducerFields.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] buffer;  //ring with a power-of-two length of at least capacity
+    private final int mask;
+    private final int capacity;
+
+    public SpscArrayQueue(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+        int length = Integer.highestOneBit(Math.max(maxSize, 1));
+        if (length < maxSize) {
+            length <<= 1;
+        }
+        this.buffer = new Object[length];
+        this.mask = length - 1;
+        this.capacity = maxSize;
+    }
+
+    /**
+     * Enqueues an element at the back of the queue. Producer thread only.
+     * @param element the element to add
+     * @throws QueueFullException if the queue is full
+     */
+    @Override
+    public void enqueue(Object element) throws QueueFullException {
+        long t = tail;
+        if (t - headCache >= capacity) {
+            headCache = (long) HEAD.getAcquire(this);
+            if (t - headCache >= capacity) {
+                throw new QueueFullException();
+            }
+        }
+        SLOT.set(buffer, (int) t & mask, element);
+        TAIL.setRelease(this, t + 1);
+    }
+
+    /**
+     * Dequeues an element from the front of the queue. Consumer thread only.
+     * @return the dequeued element
+     * @throws QueueEmptyException if the queue is empty
+     */
+    @Override
+    public Object dequeue() throws QueueEmptyException {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (h >= tailCache) {
+                throw new QueueEmptyException();
+            }
+        }
+        int index = (int) h & mask;
+        Object element = SLOT.get(buffer, index);
+        SLOT.set(buffer, index, null);
+        HEAD.setRelease(this, h + 1);
+        return element;
+    }
+
+    /**
+     * Returns the number of elements in the queue; only a snapshot while other threads are active.
+     * @return the size of the queue
+     */
+    @Override
+    public int size() {
+        long h = (long) HEAD.getAcquire(this);
+        long t = (long) TAIL.getAcquire(this);
+        return (int) Math.max(0, Math.min(t - h, capacity));
+    }
+
+    /**
+     * Checks if the queue is empty; only a snapshot while other threads are active.
+     * @return true if the queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Clears the queue by consuming every element currently visible. Consumer thread only.
+     */
+    @Override
+    public void clear() {
+        long h = head;
+        long t = (long) TAIL.getAcquire(this);
+        for (long i = h; i < t; i++) {
+            SLOT.set(buffer, (int) i & mask, null);
+        }
+        tailCache = t;
+        HEAD.setRelease(this, t);
+    }
+
+    /**
+     * Returns the maximum number of elements the queue can hold.
+     * @return the capacity of the queue
+     */
+    public int capacity() {
+        return capacity;
+    }
+}
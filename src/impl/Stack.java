@@ -118,4 +118,40 @@ public class Stack implements IStack {
         top = 0;
     }
 
+    /**
+     * Returns the array this stack shares with its neighbour.
+     * @return the backing array
+     */
+    Object[] array() {
+        return data;
+    }
+
+    /**
+     * Returns the lowest array index holding an element of this stack.
+     * The live elements occupy the indices [regionStart(), regionStart() + size()).
+     * @return the start of the live region
+     */
+    int regionStart() {
+        return isFirst ? start : start - top + 1;
+    }
+
+    /**
+     * Sets the number of elements after the live region has been filled in directly through {@link #array()}.
+     * @param size the new number of elements
+     */
+    void setSize(int size) {
+        if (size < 0 || size > capacity) {
+            throw new IllegalArgumentException("size " + size + " outside [0, " + capacity + "]");
+        }
+        top = size;
+    }
+
+    /**
+     * Returns the maximum number of elements this stack can hold.
+     * @return the capacity of the stack
+     */
+    int capacity() {
+        return capacity;
+    }
+
 }
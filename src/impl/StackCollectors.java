@@ -0,0 +1,120 @@
+package impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collector;
+
+/**
+ * {@link Collector}s which build a {@link Stack} or a {@link DoubleStackQueue} from a stream, parallel or not,
+ * keeping encounter order: the last element ends up on top of the stack, and the first element at the front
+ * of the queue.
+ *
+ * Each thread of a parallel stream appends to chunks of its own. Combining two partial results only joins
+ * their lists of chunks, and the finisher copies every chunk into the backing array of the result with one
+ * System.arraycopy each, so no element goes through push() or enqueue().
+ */
+public final class StackCollectors {
+
+    private static final int FIRST_CHUNK = 64;
+
+    private StackCollectors() {
+    }
+
+    /**
+     * Returns a collector into a stack just large enough for the elements.
+     * @return the collector
+     */
+    public static Collector<Object, ?, Stack> toStack() {
+        return collector(Function.identity(), n -> new Stack(new Object[n], true, n));
+    }
+
+    /**
+     * Returns a collector into a stack which can hold up to maxSize elements.
+     * @param maxSize the capacity of the stack
+     * @return the collector; it throws IllegalStateException if the stream has more than maxSize elements
+     */
+    public static Collector<Object, ?, Stack> toStack(int maxSize) {
+        return collector(Function.identity(), n -> new Stack(new Object[maxSize], true, maxSize));
+    }
+
+    /**
+     * Returns a collector into a queue just large enough for the elements.
+     * @return the collector
+     */
+    public static Collector<Object, ?, DoubleStackQueue> toDoubleStackQueue() {
+        return collector(q -> q.doubleStack().getSecondStack(), DoubleStackQueue::new);
+    }
+
+    /**
+     * Returns a collector into a queue which can hold up to maxSize elements.
+     * @param maxSize the capacity of the queue
+     * @return the collector; it throws IllegalStateException if the stream has more than maxSize elements
+     */
+    public static Collector<Object, ?, DoubleStackQueue> toDoubleStackQueue(int maxSize) {
+        return collector(q -> q.doubleStack().getSecondStack(), n -> new DoubleStackQueue(maxSize));
+    }
+
+    private static <R> Collector<Object, Chunks, R> collector(Function<R, Stack> stackOf, IntFunction<R> create) {
+        return Collector.of(Chunks::new, Chunks::add, Chunks::append, chunks -> {
+            R result = create.apply(chunks.size);
+            chunks.copyInto(stackOf.apply(result));
+            return result;
+        });
+    }
+
+    /**
+     * The elements collected so far, in encounter order, as a list of partly filled arrays.
+     */
+    private static final class Chunks {
+        private final List<Object[]> arrays = new ArrayList<>();
+        private final List<Integer> lengths = new ArrayList<>();   //elements used in each array but the last
+        private Object[] current = new Object[FIRST_CHUNK];
+        private int used;                                          //elements used in current
+        private int size;
+
+        void add(Object element) {
+            if (used == current.length) {
+                arrays.add(current);
+                lengths.add(used);
+                current = new Object[current.length * 2];
+                used = 0;
+            }
+            current[used++] = element;
+            size++;
+        }
+
+        Chunks append(Chunks other) {
+            if (other.size == 0) {
+                return this;
+            }
+            arrays.add(current);
+            lengths.add(used);
+            arrays.addAll(other.arrays);
+            lengths.addAll(other.lengths);
+            current = other.current;
+            used = other.used;
+            size += other.size;
+            return this;
+        }
+
+        // Encounter order runs up the array. On a first stack that leaves the last element on top; a second
+        // stack's top is its lowest index, so there the first element is on top, as a queue's output side needs.
+        void copyInto(Stack stack) {
+            if (size > stack.capacity()) {
+                throw new IllegalStateException(size + " elements do not fit in a capacity of " + stack.capacity());
+            }
+            stack.clear();
+            stack.setSize(size);
+            Object[] target = stack.array();
+            int position = stack.regionStart();
+            for (int i = 0; i < arrays.size(); i++) {
+                int length = lengths.get(i);
+                System.arraycopy(arrays.get(i), 0, target, position, length);
+                position += length;
+            }
+            System.arraycopy(current, 0, target, position, used);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import interfaces.IQueue;
+
+/**
+ * Thread-safe queue with relaxed FIFO order, striped over independent DoubleStackQueue lanes so that
+ * producers and consumers rarely meet on the same lock.
+ *
+ * A thread enqueues into a lane picked from its thread id, moving on to the next lane whose lock is free.
+ * Dequeue follows the MultiQueue scheme: it picks two lanes at random and takes from the one whose head was
+ * enqueued earlier. Each lane is strictly FIFO; across lanes an element may be overtaken, by about
+ * expectedRankError() elements on average.
+ * maxSize is split over the lanes, the first maxSize % laneCount lanes taking one slot more, so the queue
+ * holds exactly maxSize elements.
+ */
+public class StripedQueue implements IQueue {
+    private final Lane[] lanes;
+    private final int capacity;
+
+    public StripedQueue(int laneCount, int maxSize) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("laneCount must be positive");
+        }
+        lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(maxSize / laneCount + (i < maxSize % laneCount ? 1 : 0));
+        }
+        capacity = maxSize;
+    }
+
+    /**
+     * Enqueues an element into the calling thread's lane, or into another lane if that one is busy or full.
+     * @param element the element to add
+     * @throws QueueFullException if every lane is full
+     */
+    @Override
+    public void enqueue(Object element) throws QueueFullException {
+        int home = Math.floorMod(Long.hashCode(Thread.currentThread().getId() * 0x9E3779B97F4A7C15L), lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            Lane lane = lanes[(home + i) % lanes.length];
+            if (lane.size < lane.capacity && lane.lock.tryLock()) {
+                try {
+                    if (lane.offer(element)) {
+                        return;
+                    }
+                } finally {
+                    lane.lock.unlock();
+                }
+            }
+        }
+        // every lane was busy or full: wait for each in turn rather than give up on a busy one
+        for (int i = 0; i < lanes.length; i++) {
+            Lane lane = lanes[(home + i) % lanes.length];
+            lane.lock.lock();
+            try {
+                if (lane.offer(element)) {
+                    return;
+                }
+            } finally {
+                lane.lock.unlock();
+            }
+        }
+        throw new QueueFullException();
+    }
+
+    /**
+     * Dequeues the older head of two randomly chosen lanes, or from any non-empty lane if both are empty.
+     * @return the dequeued element
+     * @throws QueueEmptyException if every lane is empty
+     */
+    @Override
+    public Object dequeue() throws QueueEmptyException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (lanes.length > 1) {
+            Lane a = lanes[random.nextInt(lanes.length)];
+            Lane b = lanes[random.nextInt(lanes.length)];
+            Lane older = a.headStamp <= b.headStamp ? a : b;
+            if (older.size > 0 && older.lock.tryLock()) {
+                try {
+                    if (older.size > 0) {
+                        return older.poll();
+                    }
+                } finally {
+                    older.lock.unlock();
+                }
+            }
+        }
+        int start = random.nextInt(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            Lane lane = lanes[(start + i) % lanes.length];
+            if (lane.size > 0) {
+                lane.lock.lock();
+                try {
+                    if (lane.size > 0) {
+                        return lane.poll();
+                    }
+                } finally {
+                    lane.lock.unlock();
+                }
+            }
+        }
+        throw new QueueEmptyException();
+    }
+
+    /**
+     * Returns the number of elements in the queue; only a snapshot while other threads are active.
+     * @return the size of the queue
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Lane lane : lanes) {
+            size += lane.size;
+        }
+        return size;
+    }
+
+    /**
+     * Checks if the queue is empty; only a snapshot while other threads are active.
+     * @return true if the queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        for (Lane lane : lanes) {
+            if (lane.size > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Clears the queue, one lane at a time.
+     */
+    @Override
+    public void clear() {
+        for (Lane lane : lanes) {
+            lane.lock.lock();
+            try {
+                lane.clear();
+            } finally {
+                lane.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the expected number of elements enqueued after a given element that are dequeued before it.
+     * With two random choices over n lanes the expected rank error is O(n); this returns n - 1.
+     * It is an average, not a bound: any single element may be overtaken by more.
+     * @return the expected rank error
+     */
+    public int expectedRankError() {
+        return lanes.length - 1;
+    }
+
+    /**
+     * Returns the number of lanes.
+     * @return the lane count
+     */
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Returns the maximum number of elements the queue can hold.
+     * @return the capacity of the queue
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * One lane: a DoubleStackQueue, its lock, and the enqueue times of its elements.
+     * size and headStamp are written under the lock and read without it to choose a lane.
+     */
+    private static final class Lane {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final DoubleStackQueue queue;
+        private final int capacity;
+        private final long[] stamps;            //enqueue times, a ring kept in step with queue
+        private int stampHead;                  //index of the stamp belonging to the head element
+        private volatile int size;
+        private volatile long headStamp = Long.MAX_VALUE;  //enqueue time of the head, MAX_VALUE when empty
+
+        Lane(int capacity) {
+            queue = new DoubleStackQueue(capacity);
+            stamps = new long[Math.max(capacity, 1)];
+            this.capacity = capacity;
+        }
+
+        boolean offer(Object element) {
+            if (size == capacity) {
+                return false;
+            }
+            try {
+                queue.enqueue(element);
+            } catch (QueueFullException impossible) {
+                throw new IllegalStateException("Unexpected overflow in lane", impossible);
+            }
+            long now = System.nanoTime();
+            stamps[(stampHead + size) % stamps.length] = now;
+            if (size == 0) {
+                headStamp = now;
+            }
+            size++;
+            return true;
+        }
+
+        Object poll() throws QueueEmptyException {
+            Object element = queue.dequeue();
+            stampHead = (stampHead + 1) % stamps.length;
+            size--;
+            headStamp = size == 0 ? Long.MAX_VALUE : stamps[stampHead];
+            return element;
+        }
+
+        void clear() {
+            queue.clear();
+            stampHead = 0;
+            size = 0;
+            headStamp = Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package impl;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import interfaces.IScheduledQueue;
+
+/**
+ * Scheduled queue built on a hierarchical timing wheel. Time advances in ticks. Level 0 has one bucket per
+ * tick for the next WHEEL_SIZE ticks, level 1 one bucket per WHEEL_SIZE ticks, and so on. A delayed element
+ * goes straight into the bucket of the finest level whose span reaches its deadline, in O(1). Whenever
+ * level 0 turns over, the next bucket of the level above is emptied into the finer levels; when a level 0
+ * bucket comes due, its elements move to a ready DoubleStackQueue, from which dequeue() serves them in
+ * the order they fell due.
+ *
+ * Scheduled elements live in preallocated parallel arrays of maxSize entries, and each bucket is an intrusive
+ * singly linked list threaded through them by index: a bucket is a head index, and each entry holds the index
+ * of the next one in its bucket. Unused entries form a free list the same way, so scheduling, cascading and
+ * releasing an entry are all O(1) and memory is fixed at construction.
+ * An element is never served before its delay has passed, and is served at most one tick after, if the queue
+ * is polled at least once a tick. Elements due in the same tick come out in no particular order.
+ * Catching up after the queue has not been touched for a while costs a few operations per elapsed tick.
+ */
+public class TimingWheelQueue implements IScheduledQueue {
+    private static final int WHEEL_SIZE = 64;      //buckets per level
+    private static final int WHEEL_BITS = 6;
+    private static final int LEVELS = 4;           //horizon of 64^4 ticks; later deadlines wait at the top level
+    private static final int NONE = -1;            //end of a list
+
+    private int[] heads;                            //first entry of bucket (level, slot) at level * WHEEL_SIZE + slot
+    private Object[] elements;                      //entry i: the scheduled element
+    private long[] dueTicks;                        //entry i: the tick it falls due
+    private int[] next;                             //entry i: the next entry in its bucket or in the free list
+    private int freeHead;                           //first unused entry
+    private DoubleStackQueue ready;                 //elements whose deadline has passed
+    private int capacity;
+    private int scheduled;
+    private long tickNanos;
+    private LongSupplier clock;                     //nanosecond time source
+    private long origin;                            //clock reading at tick 0
+    private long currentTick;                       //the last tick whose bucket has been emptied
+
+    public TimingWheelQueue(int maxSize, long tickNanos) {
+        this(maxSize, tickNanos, System::nanoTime);
+    }
+
+    public TimingWheelQueue(int maxSize, long tickNanos, LongSupplier clock) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tickNanos must be positive");
+        }
+        heads = new int[LEVELS * WHEEL_SIZE];
+        elements = new Object[maxSize];
+        dueTicks = new long[maxSize];
+        next = new int[maxSize];
+        ready = new DoubleStackQueue(maxSize);
+        capacity = maxSize;
+        this.tickNanos = tickNanos;
+        this.clock = clock;
+        origin = clock.getAsLong();
+        reset();
+    }
+
+    /**
+     * Enqueues an element which is available to dequeue at once.
+     * @param element the element to add
+     * @throws QueueFullException if the queue is full
+     */
+    @Override
+    public void enqueue(Object element) throws QueueFullException {
+        enqueue(element, 0);
+    }
+
+    /**
+     * Schedules an element to become available to dequeue once the delay has passed.
+     * @param element the element to add
+     * @param delayNanos the delay in nanoseconds; zero or less makes the element available at once
+     * @throws QueueFullException if the queue is full
+     */
+    @Override
+    public void enqueue(Object element, long delayNanos) throws QueueFullException {
+        if (size() == capacity) {
+            throw new QueueFullException();
+        }
+        long now = clock.getAsLong();
+        advance(now);
+        long sinceOrigin = now - origin;
+        // A delay that would overflow saturates, leaving the element scheduled at the end of time.
+        long elapsed = sinceOrigin + Math.min(Math.max(0, delayNanos), Long.MAX_VALUE - sinceOrigin);
+        long dueTick = elapsed / tickNanos + (elapsed % tickNanos == 0 ? 0 : 1);
+        if (dueTick <= currentTick) {
+            ready.enqueue(element);
+            return;
+        }
+        int entry = freeHead;
+        freeHead = next[entry];
+        elements[entry] = element;
+        dueTicks[entry] = dueTick;
+        place(entry);
+        scheduled++;
+    }
+
+    /**
+     * Dequeues the element which fell due first.
+     * @return the dequeued element
+     * @throws QueueEmptyException if no element is due
+     */
+    @Override
+    public Object dequeue() throws QueueEmptyException {
+        advance(clock.getAsLong());
+        return ready.dequeue();
+    }
+
+    /**
+     * Returns the number of elements in the queue, due or not.
+     * @return the size of the queue
+     */
+    @Override
+    public int size() {
+        return ready.size() + scheduled;
+    }
+
+    /**
+     * Checks if the queue holds no elements at all, due or not.
+     * @return true if the queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of elements whose delay has not yet passed.
+     * @return the number of scheduled elements
+     */
+    @Override
+    public int scheduledSize() {
+        return scheduled;
+    }
+
+    /**
+     * Clears the queue, discarding scheduled elements too.
+     */
+    @Override
+    public void clear() {
+        reset();
+        ready.clear();
+    }
+
+    /**
+     * Returns the length of a tick, the precision of the queue's deadlines.
+     * @return the tick in nanoseconds
+     */
+    public long tickNanos() {
+        return tickNanos;
+    }
+
+    // Empties every bucket up to the current time, one tick at a time. With nothing scheduled there is
+    // nothing to move, so the wheel jumps straight to the current tick.
+    private void advance(long now) {
+        long nowTick = (now - origin) / tickNanos;
+        if (scheduled == 0) {
+            currentTick = Math.max(currentTick, nowTick);
+            return;
+        }
+        while (currentTick < nowTick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (level * WHEEL_BITS)) - 1)) == 0) {
+                    cascade(level * WHEEL_SIZE + slot(currentTick, level));
+                }
+            }
+            cascade(slot(currentTick, 0));
+            if (scheduled == 0) {
+                currentTick = nowTick;
+            }
+        }
+    }
+
+    // Detaches the bucket's list and re-places every entry on it; entries now due go to the ready queue.
+    private void cascade(int bucket) {
+        int entry = heads[bucket];
+        heads[bucket] = NONE;
+        while (entry != NONE) {
+            int following = next[entry];
+            if (dueTicks[entry] <= currentTick) {
+                try {
+                    ready.enqueue(elements[entry]);
+                } catch (QueueFullException impossible) {
+                    throw new IllegalStateException("Unexpected overflow of the ready queue", impossible);
+                }
+                scheduled--;
+                elements[entry] = null;
+                next[entry] = freeHead;
+                freeHead = entry;
+            } else {
+                place(entry);
+            }
+            entry = following;
+        }
+    }
+
+    // Puts the entry in the finest level whose span covers its deadline. A deadline beyond the top level's
+    // span goes in the top level's last bucket, which is the furthest one away, and is placed again from there.
+    private void place(int entry) {
+        long delta = dueTicks[entry] - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << ((level + 1) * WHEEL_BITS)) {
+            level++;
+        }
+        long tick = delta < 1L << (LEVELS * WHEEL_BITS) ? dueTicks[entry]
+                : currentTick + ((long) (WHEEL_SIZE - 1) << ((LEVELS - 1) * WHEEL_BITS));
+        int bucket = level * WHEEL_SIZE + slot(tick, level);
+        next[entry] = heads[bucket];
+        heads[bucket] = entry;
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) (tick >>> (level * WHEEL_BITS)) & (WHEEL_SIZE - 1);
+    }
+
+    // Empties every bucket and puts every entry back on the free list.
+    private void reset() {
+        Arrays.fill(heads, NONE);
+        Arrays.fill(elements, null);
+        for (int i = 0; i < capacity; i++) {
+            next[i] = i + 1 < capacity ? i + 1 : NONE;
+        }
+        freeHead = capacity > 0 ? 0 : NONE;
+        scheduled = 0;
+    }
+}
@@ -0,0 +1,144 @@
+package impl;
+
+import common.StackEmptyException;
+import interfaces.IUndoHistory;
+
+/**
+ * Fixed-size undo/redo history laid out like a double stack in one array.
+ * The undo stack grows upwards from a circular bottom towards a cursor, and the redo stack grows downwards
+ * from its bottom towards the same cursor, so the top of each stack sits either side of it. Undo and redo
+ * move the cursor without copying anything. Recording an edit discards the redo stack, and once the array
+ * is full it overwrites the oldest undo entry instead of overflowing. No operation allocates.
+ */
+public class UndoHistory implements IUndoHistory {
+    private Object[] data;      //the shared ring
+    private int bottom;         //index of the oldest undo entry
+    private int undoCount;      //the undo stack occupies bottom .. cursor - 1
+    private int redoCount;      //the redo stack occupies cursor .. cursor + redoCount - 1, top at cursor
+    private long evicted;
+
+    public UndoHistory(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        data = new Object[maxSize];
+    }
+
+    /**
+     * Records a new edit, discarding the redo stack and evicting the oldest edit if the history is full.
+     * @param edit the edit to record
+     */
+    @Override
+    public void record(Object edit) {
+        int cursor = cursor();
+        for (int i = 0; i < redoCount; i++) {
+            data[(cursor + i) % data.length] = null;
+        }
+        redoCount = 0;
+        data[cursor] = edit;
+        if (undoCount == data.length) {
+            bottom = (bottom + 1) % data.length;    // the slot just written held the oldest edit
+            evicted++;
+        } else {
+            undoCount++;
+        }
+    }
+
+    /**
+     * Moves the most recent edit from the undo stack to the redo stack.
+     * @return the edit to undo
+     * @throws StackEmptyException if there is nothing to undo
+     */
+    @Override
+    public Object undo() throws StackEmptyException {
+        if (undoCount == 0) {
+            throw new StackEmptyException();
+        }
+        undoCount--;
+        redoCount++;
+        return data[cursor()];
+    }
+
+    /**
+     * Moves the most recently undone edit from the redo stack back to the undo stack.
+     * @return the edit to redo
+     * @throws StackEmptyException if there is nothing to redo
+     */
+    @Override
+    public Object redo() throws StackEmptyException {
+        if (redoCount == 0) {
+            throw new StackEmptyException();
+        }
+        Object edit = data[cursor()];
+        undoCount++;
+        redoCount--;
+        return edit;
+    }
+
+    /**
+     * Returns the edit undo() would return, without moving it.
+     * @return the most recent edit
+     * @throws StackEmptyException if there is nothing to undo
+     */
+    public Object peekUndo() throws StackEmptyException {
+        if (undoCount == 0) {
+            throw new StackEmptyException();
+        }
+        return data[(cursor() - 1 + data.length) % data.length];
+    }
+
+    /**
+     * Returns the edit redo() would return, without moving it.
+     * @return the most recently undone edit
+     * @throws StackEmptyException if there is nothing to redo
+     */
+    public Object peekRedo() throws StackEmptyException {
+        if (redoCount == 0) {
+            throw new StackEmptyException();
+        }
+        return data[cursor()];
+    }
+
+    /**
+     * Returns the number of edits which can be undone.
+     * @return the size of the undo side
+     */
+    @Override
+    public int undoSize() {
+        return undoCount;
+    }
+
+    /**
+     * Returns the number of edits which can be redone.
+     * @return the size of the redo side
+     */
+    @Override
+    public int redoSize() {
+        return redoCount;
+    }
+
+    /**
+     * Returns the number of edits forgotten because the history was full.
+     * @return the number of evicted edits
+     */
+    public long evictedCount() {
+        return evicted;
+    }
+
+    /**
+     * Clears both stacks.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < undoCount + redoCount; i++) {
+            data[(bottom + i) % data.length] = null;
+        }
+        bottom = 0;
+        undoCount = 0;
+        redoCount = 0;
+    }
+
+    private int cursor() {
+        return (bottom + undoCount) % data.length;
+    }
+}
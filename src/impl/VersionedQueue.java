@@ -0,0 +1,80 @@
+package impl;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import interfaces.IVersionedQueue;
+
+/**
+ * Bounded queue whose state is a {@link PersistentQueue}, so that snapshot() returns the current
+ * version in O(1). Snapshots are immutable and may be shared between threads; the queue itself is not
+ * thread-safe.
+ */
+public class VersionedQueue implements IVersionedQueue {
+    private PersistentQueue current;    //the latest version
+    private int capacity;
+
+    public VersionedQueue(int maxSize) {
+        this.current = PersistentQueue.empty();
+        this.capacity = maxSize;
+    }
+
+    /**
+     * Enqueues an element at the back of the queue.
+     * @param element the element to add
+     * @throws QueueFullException if the queue is full
+     */
+    @Override
+    public void enqueue(Object element) throws QueueFullException {
+        if (current.size() == capacity) {
+            throw new QueueFullException();
+        }
+        current = current.enqueue(element);
+    }
+
+    /**
+     * Dequeues an element from the front of the queue.
+     * @return the dequeued element
+     * @throws QueueEmptyException if the queue is empty
+     */
+    @Override
+    public Object dequeue() throws QueueEmptyException {
+        Object head = current.head();
+        current = current.dequeue();
+        return head;
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return the size of the queue
+     */
+    @Override
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if the queue is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return current.isEmpty();
+    }
+
+    /**
+     * Clears the queue. Earlier snapshots are unaffected.
+     */
+    @Override
+    public void clear() {
+        current = PersistentQueue.empty();
+    }
+
+    /**
+     * Returns the current contents as an immutable version, in O(1).
+     * @return the current version
+     */
+    @Override
+    public PersistentQueue snapshot() {
+        return current;
+    }
+}
@@ -0,0 +1,90 @@
+package impl;
+
+import common.StackEmptyException;
+import common.StackOverflowException;
+import interfaces.IVersionedStack;
+
+/**
+ * Bounded stack whose state is a {@link PersistentStack}, so that snapshot() returns the current
+ * version in O(1). Snapshots are immutable and may be shared between threads; the stack itself is not
+ * thread-safe.
+ */
+public class VersionedStack implements IVersionedStack {
+    private PersistentStack current;    //the latest version
+    private int capacity;               //max number of elements allowed
+
+    public VersionedStack(int maxSize) {
+        this.current = PersistentStack.empty();
+        this.capacity = maxSize;
+    }
+
+    /**
+     * Pushes an element onto the stack.
+     * @param element the element to push
+     * @throws StackOverflowException if the stack is full
+     */
+    @Override
+    public void push(Object element) throws StackOverflowException {
+        if (current.size() == capacity) {
+            throw new StackOverflowException();
+        }
+        current = current.push(element);
+    }
+
+    /**
+     * Pops an element from the stack.
+     * @return the popped element
+     * @throws StackEmptyException if the stack is empty
+     */
+    @Override
+    public Object pop() throws StackEmptyException {
+        Object top = current.top();
+        current = current.pop();
+        return top;
+    }
+
+    /**
+     * Returns the top element without removing it.
+     * @return the top element
+     * @throws StackEmptyException if the stack is empty
+     */
+    @Override
+    public Object top() throws StackEmptyException {
+        return current.top();
+    }
+
+    /**
+     * Returns the number of elements in the stack.
+     * @return the size of the stack
+     */
+    @Override
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * Checks if the stack is empty.
+     * @return true if the stack is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return current.isEmpty();
+    }
+
+    /**
+     * Clears the stack. Earlier snapshots are unaffected.
+     */
+    @Override
+    public void clear() {
+        current = PersistentStack.empty();
+    }
+
+    /**
+     * Returns the current contents as an immutable version, in O(1).
+     * @return the current version
+     */
+    @Override
+    public PersistentStack snapshot() {
+        return current;
+    }
+}
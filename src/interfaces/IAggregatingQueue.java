@@ -0,0 +1,18 @@
+package interfaces;
+
+import common.QueueEmptyException;
+
+/**
+ * Queue which also maintains the aggregate of its elements under an associative combiner.
+ *
+ */
+public interface IAggregatingQueue extends IQueue {
+
+    /**
+     * Returns the aggregate of every element in the queue, combined from oldest to newest.
+     *
+     * @return the aggregate of the queue's elements
+     * @throws QueueEmptyException if the queue is empty
+     */
+    Object query() throws QueueEmptyException;
+}
@@ -0,0 +1,76 @@
+package interfaces;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+
+/**
+ * Simple double-ended queue interface.
+ *
+ */
+public interface IDeque {
+
+    /**
+     * Adds an element at the front of the deque.
+     *
+     * @param element the element to be added
+     * @throws QueueFullException if there is no room in the deque for the new element
+     */
+    void pushFront(Object element) throws QueueFullException;
+
+    /**
+     * Adds an element at the back of the deque.
+     *
+     * @param element the element to be added
+     * @throws QueueFullException if there is no room in the deque for the new element
+     */
+    void pushBack(Object element) throws QueueFullException;
+
+    /**
+     * Removes the element at the front of the deque.
+     *
+     * @return the element removed
+     * @throws QueueEmptyException if the deque is empty
+     */
+    Object popFront() throws QueueEmptyException;
+
+    /**
+     * Removes the element at the back of the deque.
+     *
+     * @return the element removed
+     * @throws QueueEmptyException if the deque is empty
+     */
+    Object popBack() throws QueueEmptyException;
+
+    /**
+     * Accesses the element at the front of the deque without removing it.
+     *
+     * @return the front element
+     * @throws QueueEmptyException if the deque is empty
+     */
+    Object peekFront() throws QueueEmptyException;
+
+    /**
+     * Accesses the element at the back of the deque without removing it.
+     *
+     * @return the back element
+     * @throws QueueEmptyException if the deque is empty
+     */
+    Object peekBack() throws QueueEmptyException;
+
+    /**
+     * Returns the number of elements in the deque.
+     * @return the number of elements in the deque
+     */
+    int size();
+
+    /**
+     * Checks whether the deque is empty.
+     * @return true if the deque is empty
+     */
+    boolean isEmpty();
+
+    /**
+     * Removes all elements from the deque.
+     */
+    void clear();
+}
@@ -1,5 +1,9 @@
 package interfaces;
 
+import java.nio.file.Path;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
 /**
  * Interface for a factory allowing the other interfaces to be instantiated without knowing the implementation classes.
  *
@@ -21,5 +25,124 @@ public interface IFactory {
      */
     IQueue makeDoubleStackQueue(int maxSize);
 
+    /**
+     * This method creates a DoubleStack-based Queue which drops stale elements from its head, CoDel style,
+     * when their sojourn time stays above the target for a whole interval.
+     * @param maxSize the maximum size of the queue
+     * @param targetNanos the acceptable standing delay in nanoseconds
+     * @param intervalNanos how long the delay may stay above target before dropping starts, in nanoseconds
+     * @return the queue
+     */
+    IQueue makeCoDelQueue(int maxSize, long targetNanos, long intervalNanos);
+
+    /**
+     * This method creates a persistent Queue backed by memory-mapped segment files in the given directory.
+     * Elements already stored in the directory are recovered.
+     * @param directory the directory holding the segment files
+     * @param maxSize the maximum size of the queue
+     * @param serializer the serializer used to store elements
+     * @return the queue
+     */
+    IQueue makeMappedFileQueue(Path directory, int maxSize, ISerializer serializer);
+
+    /**
+     * This method creates a bounded Queue which one producer thread and one consumer thread may use concurrently.
+     * @param maxSize the maximum size of the queue
+     * @return the queue
+     */
+    IQueue makeSpscQueue(int maxSize);
+
+    /**
+     * This method creates a DoubleStack-based Queue which maintains the aggregate of its elements,
+     * available in amortized O(1) through {@link IAggregatingQueue#query()}.
+     * @param maxSize the maximum size of the queue
+     * @param combiner an associative function combining two aggregates, the older one first
+     * @return the queue
+     */
+    IAggregatingQueue makeSlidingWindowQueue(int maxSize, BinaryOperator<Object> combiner);
+
+    /**
+     * Creates a bounded {@link IVersionedStack} backed by an immutable persistent stack, whose state can be
+     * snapshotted in O(1).
+     * @param maxSize the maximum size of the stack
+     * @return the stack
+     */
+    IVersionedStack makeVersionedStack(int maxSize);
+
+    /**
+     * This method creates a bounded Queue backed by an immutable persistent queue, whose state can be snapshotted
+     * in O(1) through {@link IVersionedQueue#snapshot()}.
+     * @param maxSize the maximum size of the queue
+     * @return the queue
+     */
+    IVersionedQueue makeVersionedQueue(int maxSize);
+
+    /**
+     * Creates an instance of {@link IMultiStack}.
+     * @param stackCount the number of stacks sharing the array
+     * @param maxSize the maximum size that is shared over all stacks in this multi stack
+     * @return the multi stack
+     */
+    IMultiStack makeMultiStack(int stackCount, int maxSize);
+
+    /**
+     * This method creates a DoubleStack-based double-ended queue which conforms with the {@link IDeque} interface.
+     * @param maxSize the maximum size of the deque
+     * @return the deque
+     */
+    IDeque makeDeque(int maxSize);
+
+    /**
+     * This method creates a keyed Queue which merges an enqueued element into the pending element with the same key,
+     * keeping its position, instead of queueing a duplicate.
+     * @param maxSize the maximum size of the queue
+     * @param keyOf extracts the key of an element
+     * @param merger combines the pending element with the newly enqueued one
+     * @return the queue
+     */
+    IQueue makeCoalescingQueue(int maxSize, Function<Object, Object> keyOf, BinaryOperator<Object> merger);
+
+    /**
+     * Creates an instance of {@link IUndoHistory}.
+     * @param maxSize the maximum number of edits shared over the undo and redo sides
+     * @return the undo history
+     */
+    IUndoHistory makeUndoHistory(int maxSize);
+
+    /**
+     * This method creates a single-producer single-consumer Queue in a memory-mapped file, through which two processes
+     * on the same host can exchange fixed-size records. Opening an existing file attaches to the queue it holds.
+     * @param file the file holding the queue, typically under /dev/shm
+     * @param maxSize the maximum size of the queue
+     * @param codec the codec converting elements to fixed-size records
+     * @return the queue
+     */
+    IQueue makeSharedMemoryQueue(Path file, int maxSize, IRecordCodec codec);
+
+    /**
+     * This method creates a Queue which publishes its elements to a {@link java.util.concurrent.Flow.Subscriber},
+     * delivering only as many as the subscriber has requested.
+     * @param maxSize the maximum number of elements waiting for demand
+     * @return the publishing queue
+     */
+    IPublishingQueue makeQueuePublisher(int maxSize);
+
+    /**
+     * This method creates a thread-safe Queue striped over independent DoubleStack-based lanes. Order is FIFO
+     * within a lane but only approximately FIFO overall, in exchange for producers and consumers rarely sharing a lock:
+     * an element is overtaken by about laneCount - 1 later elements on average, with no worst-case bound.
+     * @param laneCount the number of lanes, typically the number of cores
+     * @param maxSize the maximum size of the queue
+     * @return the queue
+     */
+    IQueue makeStripedQueue(int laneCount, int maxSize);
+
+    /**
+     * This method creates a scheduled Queue on a hierarchical timing wheel, with O(1) enqueue and fixed memory.
+     * @param maxSize the maximum number of elements, scheduled or due
+     * @param tickNanos the tick length in nanoseconds, which is the precision of delays
+     * @return the scheduled queue
+     */
+    IScheduledQueue makeTimingWheelQueue(int maxSize, long tickNanos);
 
 }
@@ -0,0 +1,21 @@
+package interfaces;
+
+/**
+ * Service provider interface for plugging {@link IFactory} implementations in without code changes.
+ * Providers are discovered with {@link java.util.ServiceLoader} and selected by name.
+ *
+ */
+public interface IFactoryProvider {
+
+    /**
+     * Returns the name under which this provider can be selected in configuration.
+     * @return the provider name, for example "array"
+     */
+    String name();
+
+    /**
+     * Returns the factory supplied by this provider.
+     * @return the factory
+     */
+    IFactory getFactory();
+}
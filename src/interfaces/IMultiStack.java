@@ -0,0 +1,21 @@
+package interfaces;
+
+/**
+ * This interface represents a number of stacks sharing one backing array.
+ *
+ */
+public interface IMultiStack {
+
+    /**
+     * Method which returns one of the IStack objects in the IMultiStack for subsequent use with {@link IStack} operations.
+     * @param index the index of the stack, from 0 to getStackCount() - 1
+     * @return the stack at that index
+     */
+    IStack getStack(int index);
+
+    /**
+     * Returns the number of stacks sharing the array.
+     * @return the number of stacks
+     */
+    int getStackCount();
+}
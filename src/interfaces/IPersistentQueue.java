@@ -0,0 +1,48 @@
+package interfaces;
+
+import common.QueueEmptyException;
+
+/**
+ * Immutable queue interface: enqueue() and dequeue() return new versions and leave this one unchanged.
+ *
+ */
+public interface IPersistentQueue {
+
+    /**
+     * Returns a new version with an element added at the back.
+     *
+     * @param element the element to be added
+     * @return the new version
+     */
+    IPersistentQueue enqueue(Object element);
+
+    /**
+     * Returns the version without this version's head element.
+     *
+     * @return the new version
+     * @throws QueueEmptyException if the queue is empty
+     */
+    IPersistentQueue dequeue() throws QueueEmptyException;
+
+    /**
+     * Returns the element at the head of the queue.
+     *
+     * @return the head element
+     * @throws QueueEmptyException if the queue is empty
+     */
+    Object head() throws QueueEmptyException;
+
+    /**
+     * Returns the number of elements in the queue.
+     *
+     * @return the number of elements in the queue
+     */
+    int size();
+
+    /**
+     * Checks whether the queue is empty.
+     *
+     * @return true if the queue is empty
+     */
+    boolean isEmpty();
+}
@@ -0,0 +1,48 @@
+package interfaces;
+
+import common.StackEmptyException;
+
+/**
+ * Immutable stack interface: push() and pop() return new versions and leave this one unchanged.
+ *
+ */
+public interface IPersistentStack {
+
+    /**
+     * Returns a new version with an element pushed on top of this one.
+     *
+     * @param element the element to be pushed
+     * @return the new version
+     */
+    IPersistentStack push(Object element);
+
+    /**
+     * Returns the version without this version's top element.
+     *
+     * @return the version below this one
+     * @throws StackEmptyException if the stack is empty
+     */
+    IPersistentStack pop() throws StackEmptyException;
+
+    /**
+     * Returns the element on top of the stack.
+     *
+     * @return the top element
+     * @throws StackEmptyException if the stack is empty
+     */
+    Object top() throws StackEmptyException;
+
+    /**
+     * Returns the number of elements in the stack.
+     *
+     * @return the number of elements in the stack
+     */
+    int size();
+
+    /**
+     * Checks whether the stack is empty.
+     *
+     * @return true if the stack is empty
+     */
+    boolean isEmpty();
+}
@@ -0,0 +1,15 @@
+package interfaces;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Queue which publishes its elements to a {@link Flow.Subscriber}, delivering only as many as have been requested.
+ *
+ */
+public interface IPublishingQueue extends IQueue, Flow.Publisher<Object> {
+
+    /**
+     * Signals that no more elements will be enqueued; the subscriber completes once the queue is drained.
+     */
+    void complete();
+}
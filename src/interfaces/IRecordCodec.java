@@ -0,0 +1,32 @@
+package interfaces;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts elements to and from fixed-size binary records, for queues whose slots live in shared memory.
+ *
+ */
+public interface IRecordCodec {
+
+    /**
+     * Returns the size of every record written by this codec.
+     * @return the record size in bytes
+     */
+    int recordSize();
+
+    /**
+     * Encodes an element into the buffer, writing at most recordSize() bytes from its position.
+     *
+     * @param element the element to encode
+     * @param target the buffer to write to
+     */
+    void encode(Object element, ByteBuffer target);
+
+    /**
+     * Decodes an element from the buffer, reading from its position.
+     *
+     * @param source the buffer to read from
+     * @return the decoded element
+     */
+    Object decode(ByteBuffer source);
+}
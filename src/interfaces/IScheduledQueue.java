@@ -0,0 +1,26 @@
+package interfaces;
+
+import common.QueueFullException;
+
+/**
+ * Queue whose elements can be enqueued with a delay; an element can only be dequeued once its delay has passed.
+ *
+ */
+public interface IScheduledQueue extends IQueue {
+
+    /**
+     * Enqueues an element which becomes available to dequeue() once the delay has passed.
+     *
+     * @param element the element to be added
+     * @param delayNanos how long to hold the element back, in nanoseconds
+     * @throws QueueFullException if there is no room in the queue for the new element
+     */
+    void enqueue(Object element, long delayNanos) throws QueueFullException;
+
+    /**
+     * Returns the number of elements whose delay has not yet passed.
+     *
+     * @return the number of scheduled elements
+     */
+    int scheduledSize();
+}
@@ -0,0 +1,28 @@
+package interfaces;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts queue and stack elements to and from bytes, for implementations which keep elements outside the heap.
+ *
+ */
+public interface ISerializer {
+
+    /**
+     * Encodes an element.
+     *
+     * @param element the element to encode
+     * @return the encoded bytes
+     */
+    byte[] serialize(Object element);
+
+    /**
+     * Decodes an element.
+     * The buffer may be a read-only view over the backing storage which is only valid during the call,
+     * so implementations must copy out anything they keep.
+     *
+     * @param bytes the encoded bytes, from the buffer's position to its limit
+     * @return the decoded element
+     */
+    Object deserialize(ByteBuffer bytes);
+}
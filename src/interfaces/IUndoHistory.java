@@ -0,0 +1,50 @@
+package interfaces;
+
+import common.StackEmptyException;
+
+/**
+ * Bounded undo/redo history. Recording an edit when the history is full silently forgets the oldest edit.
+ *
+ */
+public interface IUndoHistory {
+
+    /**
+     * Records a new edit. The redo side is cleared, and if the history is full the oldest edit is evicted.
+     *
+     * @param edit the edit to record
+     */
+    void record(Object edit);
+
+    /**
+     * Takes the most recent edit off the undo side and moves it to the redo side.
+     *
+     * @return the edit to undo
+     * @throws StackEmptyException if there is nothing to undo
+     */
+    Object undo() throws StackEmptyException;
+
+    /**
+     * Takes the most recently undone edit off the redo side and moves it back to the undo side.
+     *
+     * @return the edit to redo
+     * @throws StackEmptyException if there is nothing to redo
+     */
+    Object redo() throws StackEmptyException;
+
+    /**
+     * Returns the number of edits which can be undone.
+     * @return the size of the undo side
+     */
+    int undoSize();
+
+    /**
+     * Returns the number of edits which can be redone.
+     * @return the size of the redo side
+     */
+    int redoSize();
+
+    /**
+     * Removes all edits from both sides.
+     */
+    void clear();
+}
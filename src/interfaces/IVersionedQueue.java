@@ -0,0 +1,15 @@
+package interfaces;
+
+/**
+ * Queue whose current contents can be captured as an immutable version in O(1).
+ *
+ */
+public interface IVersionedQueue extends IQueue {
+
+    /**
+     * Returns the current contents as an immutable version, unaffected by later changes to the queue.
+     *
+     * @return the current version
+     */
+    IPersistentQueue snapshot();
+}
@@ -0,0 +1,15 @@
+package interfaces;
+
+/**
+ * Stack whose current contents can be captured as an immutable version in O(1).
+ *
+ */
+public interface IVersionedStack extends IStack {
+
+    /**
+     * Returns the current contents as an immutable version, unaffected by later changes to the stack.
+     *
+     * @return the current version
+     */
+    IPersistentStack snapshot();
+}
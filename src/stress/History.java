@@ -0,0 +1,129 @@
+package stress;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the operations several threads perform on a shared structure: what each one was, what it returned,
+ * and the interval between its invocation and its response. Each thread appends only to its own list, so
+ * recording adds two System.nanoTime() calls to an operation and no synchronisation.
+ */
+public final class History {
+
+    /**
+     * Whether an operation adds an element (enqueue, push) or takes one (dequeue, pop).
+     */
+    public enum Kind { INSERT, REMOVE }
+
+    /**
+     * One completed operation. For an insert, value is the element inserted; for a remove, the element
+     * returned. ok is false when the structure was full or empty and the operation threw.
+     */
+    public static final class Operation {
+        private final int thread;
+        private final Kind kind;
+        private Object value;
+        private boolean ok;
+        private final long invoked;
+        private long returned;
+
+        Operation(int thread, Kind kind, Object value, long invoked, long returned, boolean ok) {
+            this.thread = thread;
+            this.kind = kind;
+            this.value = value;
+            this.invoked = invoked;
+            this.returned = returned;
+            this.ok = ok;
+        }
+
+        public int thread() {
+            return thread;
+        }
+
+        public Kind kind() {
+            return kind;
+        }
+
+        public Object value() {
+            return value;
+        }
+
+        public boolean ok() {
+            return ok;
+        }
+
+        public long invoked() {
+            return invoked;
+        }
+
+        public long returned() {
+            return returned;
+        }
+
+        @Override
+        public String toString() {
+            String what = kind == Kind.INSERT ? "insert(" + value + ")" : "remove()=" + (ok ? value : "empty");
+            return "t" + thread + " " + what + (kind == Kind.INSERT && !ok ? " full" : "")
+                    + " [" + invoked + ", " + returned + "]";
+        }
+    }
+
+    private final List<List<Operation>> threads = new ArrayList<>();
+
+    public History(int threadCount) {
+        for (int i = 0; i < threadCount; i++) {
+            threads.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Records the invocation of an operation; call {@link #end} with its outcome once it returns.
+     * @param thread the index of the calling thread
+     * @param kind the kind of operation
+     * @param argument the element inserted, or null for a remove
+     * @return the operation, to be completed by end()
+     */
+    public Operation begin(int thread, Kind kind, Object argument) {
+        return new Operation(thread, kind, argument, System.nanoTime(), 0, false);
+    }
+
+    /**
+     * Records the response of an operation.
+     * @param op the operation returned by begin()
+     * @param result the element removed, ignored for an insert
+     * @param ok false if the structure was full or empty
+     */
+    public void end(Operation op, Object result, boolean ok) {
+        op.returned = System.nanoTime();
+        op.ok = ok;
+        if (op.kind == Kind.REMOVE) {
+            op.value = result;
+        }
+        threads.get(op.thread).add(op);
+    }
+
+    /**
+     * Adds an operation with known times, for building histories by hand.
+     * @param thread the index of the thread
+     * @param kind the kind of operation
+     * @param value the element inserted or removed
+     * @param ok false if the structure was full or empty
+     * @param invoked when the operation was invoked
+     * @param returned when the operation returned
+     */
+    public void add(int thread, Kind kind, Object value, boolean ok, long invoked, long returned) {
+        threads.get(thread).add(new Operation(thread, kind, value, invoked, returned, ok));
+    }
+
+    /**
+     * Returns every recorded operation. Only call once the recording threads have finished.
+     * @return the operations, thread by thread
+     */
+    public List<Operation> operations() {
+        List<Operation> all = new ArrayList<>();
+        for (List<Operation> ops : threads) {
+            all.addAll(ops);
+        }
+        return all;
+    }
+}
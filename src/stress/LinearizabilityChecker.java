@@ -0,0 +1,178 @@
+package stress;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import common.StackEmptyException;
+import common.StackOverflowException;
+import impl.DoubleStack;
+import impl.DoubleStackQueue;
+import interfaces.IQueue;
+import interfaces.IStack;
+import stress.History.Kind;
+import stress.History.Operation;
+
+/**
+ * Decides whether a concurrent history is linearizable with respect to the sequential DoubleStackQueue
+ * (or the sequential array Stack): whether its operations can be put in one order, consistent with real
+ * time, in which the sequential structure gives every operation the result it actually got.
+ *
+ * This is the Wing and Gong search. An operation may come next if no other pending operation returned before
+ * it was invoked. The search tries each such operation against the oracle and backtracks on a mismatch.
+ * Lowe's memoisation prunes it: a set of linearized operations reached with the same oracle contents is
+ * never explored twice. The worst case is still exponential, so histories should be kept to a few hundred
+ * operations.
+ */
+public final class LinearizabilityChecker {
+
+    private final boolean fifo;
+    private final int capacity;
+    private Operation[] ops;
+    private Set<Map.Entry<BitSet, List<Object>>> seen;
+    private List<Operation> witness;
+
+    private LinearizabilityChecker(boolean fifo, int capacity) {
+        this.fifo = fifo;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns a checker for bounded FIFO queues, with DoubleStackQueue as the oracle.
+     * @param capacity the capacity of the queue under test
+     * @return the checker
+     */
+    public static LinearizabilityChecker forQueue(int capacity) {
+        return new LinearizabilityChecker(true, capacity);
+    }
+
+    /**
+     * Returns a checker for bounded stacks, with the array Stack as the oracle.
+     * @param capacity the capacity of the stack under test
+     * @return the checker
+     */
+    public static LinearizabilityChecker forStack(int capacity) {
+        return new LinearizabilityChecker(false, capacity);
+    }
+
+    /**
+     * Checks a history, starting from an empty structure.
+     * @param history the recorded history
+     * @return true if the history is linearizable
+     */
+    public boolean check(History history) {
+        ops = history.operations().toArray(new Operation[0]);
+        Arrays.sort(ops, (a, b) -> Long.compare(a.invoked(), b.invoked()));
+        seen = new HashSet<>();
+        witness = new ArrayList<>();
+        return search(new BitSet(ops.length), new Object[0]);
+    }
+
+    /**
+     * Returns a linearization found by the last successful check().
+     * @return the operations in linearization order
+     */
+    public List<Operation> witness() {
+        return witness;
+    }
+
+    private boolean search(BitSet done, Object[] state) {
+        int next = done.nextClearBit(0);
+        if (next >= ops.length) {
+            return true;
+        }
+        long firstReturn = Long.MAX_VALUE;
+        for (int i = next; i < ops.length; i = done.nextClearBit(i + 1)) {
+            firstReturn = Math.min(firstReturn, ops[i].returned());
+        }
+        for (int i = next; i < ops.length && ops[i].invoked() <= firstReturn; i = done.nextClearBit(i + 1)) {
+            Object[] after = apply(state, ops[i]);
+            if (after == null) {
+                continue;
+            }
+            done.set(i);
+            BitSet key = (BitSet) done.clone();
+            if (seen.add(new AbstractMap.SimpleImmutableEntry<>(key, Arrays.asList(after)))) {
+                witness.add(ops[i]);
+                if (search(done, after)) {
+                    return true;
+                }
+                witness.remove(witness.size() - 1);
+            }
+            done.clear(i);
+        }
+        return false;
+    }
+
+    // Replays the operation on a fresh oracle holding state; returns the new state, or null if the oracle
+    // would have answered differently.
+    private Object[] apply(Object[] state, Operation op) {
+        return fifo ? applyQueue(state, op) : applyStack(state, op);
+    }
+
+    private Object[] applyQueue(Object[] state, Operation op) {
+        IQueue oracle = new DoubleStackQueue(capacity);
+        try {
+            for (Object element : state) {
+                oracle.enqueue(element);
+            }
+            if (op.kind() == Kind.INSERT) {
+                if (!op.ok()) {
+                    return oracle.size() == capacity ? state : null;
+                }
+                oracle.enqueue(op.value());
+            } else {
+                if (!op.ok()) {
+                    return oracle.isEmpty() ? state : null;
+                }
+                if (!Objects.equals(oracle.dequeue(), op.value())) {
+                    return null;
+                }
+            }
+            Object[] after = new Object[oracle.size()];
+            for (int i = 0; i < after.length; i++) {
+                after[i] = oracle.dequeue();
+            }
+            return after;
+        } catch (QueueFullException | QueueEmptyException e) {
+            return null;
+        }
+    }
+
+    private Object[] applyStack(Object[] state, Operation op) {
+        IStack oracle = new DoubleStack(2 * capacity).getFirstStack();
+        try {
+            for (Object element : state) {
+                oracle.push(element);
+            }
+            if (op.kind() == Kind.INSERT) {
+                if (!op.ok()) {
+                    return oracle.size() == capacity ? state : null;
+                }
+                oracle.push(op.value());
+            } else {
+                if (!op.ok()) {
+                    return oracle.isEmpty() ? state : null;
+                }
+                if (!Objects.equals(oracle.pop(), op.value())) {
+                    return null;
+                }
+            }
+            Object[] after = new Object[oracle.size()];
+            for (int i = after.length - 1; i >= 0; i--) {
+                after[i] = oracle.pop();
+            }
+            return after;
+        } catch (StackOverflowException | StackEmptyException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package stress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a litmus test in the manner of jcstress: a few actors race on a fresh instance, an arbiter looks at
+ * the instance once they are done, and the combined observations are counted as an outcome. Outcomes are
+ * then checked against the set a correct implementation allows.
+ *
+ * To make races likely, each round creates a batch of instances and the actors, released together by a
+ * barrier, each sweep through the whole batch; actor i and actor j then hit the same instance at about the
+ * same moment, without a barrier per instance.
+ *
+ * @param <S> the type of the instance under test
+ */
+public final class Litmus<S> {
+    private static final int BATCH = 256;
+
+    private final String name;
+    private final Supplier<S> setup;
+    private final List<Function<S, Object>> actors = new ArrayList<>();
+    private Function<S, Object> arbiter = s -> "";
+
+    public Litmus(String name, Supplier<S> setup) {
+        this.name = name;
+        this.setup = setup;
+    }
+
+    /**
+     * Adds an actor; each actor runs on its own thread.
+     * @param actor what the actor does to an instance, returning what it observed
+     * @return this litmus test
+     */
+    public Litmus<S> actor(Function<S, Object> actor) {
+        actors.add(actor);
+        return this;
+    }
+
+    /**
+     * Sets the arbiter, which observes each instance after every actor has finished with it.
+     * @param observer what the arbiter observes
+     * @return this litmus test
+     */
+    public Litmus<S> arbiter(Function<S, Object> observer) {
+        this.arbiter = observer;
+        return this;
+    }
+
+    /**
+     * Runs the test.
+     * @param rounds the number of batches to run
+     * @return the number of times each outcome was seen, keyed by "actor1, actor2, ... | arbiter"
+     * @throws InterruptedException if interrupted while waiting for the actors
+     */
+    public Map<String, Long> run(int rounds) throws InterruptedException {
+        Map<String, Long> outcomes = new TreeMap<>();
+        Object[][] results = new Object[actors.size()][BATCH];
+        List<S> batch = new ArrayList<>(BATCH);
+        for (int round = 0; round < rounds; round++) {
+            batch.clear();
+            for (int i = 0; i < BATCH; i++) {
+                batch.add(setup.get());
+            }
+            CyclicBarrier start = new CyclicBarrier(actors.size());
+            Thread[] threads = new Thread[actors.size()];
+            for (int a = 0; a < actors.size(); a++) {
+                Function<S, Object> actor = actors.get(a);
+                Object[] out = results[a];
+                threads[a] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    for (int i = 0; i < BATCH; i++) {
+                        out[i] = actor.apply(batch.get(i));
+                    }
+                }, name + "-actor-" + a);
+                threads[a].start();
+            }
+            for (Thread t : threads) {
+                t.join();
+            }
+            for (int i = 0; i < BATCH; i++) {
+                StringBuilder outcome = new StringBuilder();
+                for (int a = 0; a < actors.size(); a++) {
+                    outcome.append(a == 0 ? "" : ", ").append(results[a][i]);
+                }
+                outcome.append(" | ").append(arbiter.apply(batch.get(i)));
+                outcomes.merge(outcome.toString(), 1L, Long::sum);
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Returns the outcomes which a correct implementation does not allow.
+     * @param outcomes the outcomes returned by run()
+     * @param allowed the allowed outcomes
+     * @return the forbidden outcomes seen, with their counts
+     */
+    public static Map<String, Long> forbidden(Map<String, Long> outcomes, Set<String> allowed) {
+        Map<String, Long> bad = new TreeMap<>(outcomes);
+        bad.keySet().removeAll(allowed);
+        return bad;
+    }
+
+    public String name() {
+        return name;
+    }
+}
@@ -0,0 +1,60 @@
+package stress;
+
+import common.StackEmptyException;
+import common.StackOverflowException;
+import interfaces.IStack;
+
+/**
+ * Makes a sequential stack safe for several threads by holding one lock around every operation. It is the
+ * stack target of the stress suite: correct by construction, so any failure points at the harness.
+ */
+final class LockedStack implements IStack {
+    private final IStack stack;
+    private final Object lock = new Object();
+
+    LockedStack(IStack stack) {
+        this.stack = stack;
+    }
+
+    @Override
+    public void push(Object element) throws StackOverflowException {
+        synchronized (lock) {
+            stack.push(element);
+        }
+    }
+
+    @Override
+    public Object pop() throws StackEmptyException {
+        synchronized (lock) {
+            return stack.pop();
+        }
+    }
+
+    @Override
+    public Object top() throws StackEmptyException {
+        synchronized (lock) {
+            return stack.top();
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (lock) {
+            return stack.size();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        synchronized (lock) {
+            return stack.isEmpty();
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            stack.clear();
+        }
+    }
+}
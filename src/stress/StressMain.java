@@ -0,0 +1,317 @@
+package stress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import common.StackEmptyException;
+import common.StackOverflowException;
+import impl.DoubleStack;
+import impl.DoubleStackQueue;
+import impl.QueuePublisher;
+import impl.SpscArrayQueue;
+import impl.StripedQueue;
+import interfaces.IQueue;
+import interfaces.IStack;
+
+/**
+ * Stress suite for the thread-safe queues and stacks: litmus tests for insert/remove races, randomized
+ * histories checked for linearizability against the sequential DoubleStackQueue or array Stack, and a
+ * contention sweep reporting the thread count at which throughput collapses. Exits with status 1 if any
+ * check fails.
+ *
+ * Usage: java stress.StressMain [litmusRounds] [histories] [maxThreads]
+ */
+public final class StressMain {
+
+    private static final int CAPACITY = 4;
+    private static final int SWEEP_CAPACITY = 1024;
+    private static final int OPS_PER_THREAD = 8;
+    private static final int SWEEP_OPS = 200_000;
+    private static final double COLLAPSE = 0.7;     //throughput below this share of the best so far is a collapse
+
+    private StressMain() {
+    }
+
+    /**
+     * A queue or stack under test, how to insert into and remove from it, and what it promises.
+     *
+     * @param <S> the type of the structure
+     */
+    static final class Target<S> {
+        final String name;
+        final IntFunction<S> factory;           //builds an instance of the given capacity
+        final String insert;                    //"enqueue" or "push", naming the litmus tests
+        final String remove;                    //"dequeue" or "pop"
+        final BiFunction<S, Object, String> tryInsert;
+        final Function<S, Object> tryRemove;
+        final ToIntFunction<S> size;
+        final boolean multiProducer;            //safe with several producers and several consumers
+        final boolean fifo;                     //strictly FIFO, so the ordered-pair test applies
+        final IntFunction<LinearizabilityChecker> checker;  //oracle for histories; null if the order is relaxed
+
+        private Target(String name, IntFunction<S> factory, String insert, String remove,
+                       BiFunction<S, Object, String> tryInsert, Function<S, Object> tryRemove, ToIntFunction<S> size,
+                       boolean multiProducer, boolean fifo, IntFunction<LinearizabilityChecker> checker) {
+            this.name = name;
+            this.factory = factory;
+            this.insert = insert;
+            this.remove = remove;
+            this.tryInsert = tryInsert;
+            this.tryRemove = tryRemove;
+            this.size = size;
+            this.multiProducer = multiProducer;
+            this.fifo = fifo;
+            this.checker = checker;
+        }
+
+        static Target<IQueue> queue(String name, IntFunction<IQueue> factory, boolean multiProducer, boolean fifo) {
+            return new Target<>(name, factory, "enqueue", "dequeue", StressMain::tryEnqueue, StressMain::tryDequeue,
+                    IQueue::size, multiProducer, fifo, fifo ? LinearizabilityChecker::forQueue : null);
+        }
+
+        static Target<IStack> stack(String name, IntFunction<IStack> factory, boolean multiProducer) {
+            return new Target<>(name, factory, "push", "pop", StressMain::tryPush, StressMain::tryPop,
+                    IStack::size, multiProducer, false, LinearizabilityChecker::forStack);
+        }
+
+        S create() {
+            return factory.apply(CAPACITY);
+        }
+    }
+
+    static List<Target<?>> targets() {
+        return List.of(
+                Target.queue("SpscArrayQueue", SpscArrayQueue::new, false, true),
+                Target.queue("QueuePublisher", c -> new QueuePublisher(new DoubleStackQueue(c)), true, true),
+                Target.queue("StripedQueue", c -> new StripedQueue(2, c), true, false),
+                Target.stack("LockedStack", c -> new LockedStack(new DoubleStack(2 * c).getFirstStack()), true));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int histories = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : 2 * Runtime.getRuntime().availableProcessors();
+        boolean failed = false;
+
+        for (Target<?> target : targets()) {
+            System.out.println("== " + target.name);
+            failed |= check(target, rounds, histories);
+            sweep(target, maxThreads);
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    // Runs the litmus tests and, if the target has an oracle, the history checks; returns true on any failure.
+    private static <S> boolean check(Target<S> target, int rounds, int histories) throws InterruptedException {
+        boolean failed = false;
+        for (Litmus<S> test : litmusTests(target)) {
+            Map<String, Long> outcomes = test.run(rounds);
+            Map<String, Long> bad = Litmus.forbidden(outcomes, allowed(test.name()));
+            System.out.printf("litmus %-22s %s%s%n", test.name(), outcomes, bad.isEmpty() ? "" : "  FORBIDDEN " + bad);
+            failed |= !bad.isEmpty();
+        }
+        if (target.checker != null) {
+            int violations = 0;
+            for (int h = 0; h < histories; h++) {
+                History history = record(target, new Random(h));
+                if (!target.checker.apply(CAPACITY).check(history)) {
+                    if (violations++ == 0) {
+                        System.out.println("not linearizable: " + history.operations());
+                    }
+                }
+            }
+            System.out.printf("linearizability        %d/%d histories linearizable%n", histories - violations, histories);
+            failed |= violations > 0;
+        }
+        return failed;
+    }
+
+    static <S> List<Litmus<S>> litmusTests(Target<S> target) {
+        Litmus<S> insertRemove = new Litmus<S>(target.insert + "-" + target.remove, target::create)
+                .actor(s -> target.tryInsert.apply(s, 1))
+                .actor(target.tryRemove)
+                .arbiter(s -> target.size.applyAsInt(s));
+        List<Litmus<S>> tests = new ArrayList<>(List.of(insertRemove));
+        if (target.fifo) {
+            Litmus<S> orderedPair = new Litmus<S>("ordered-pair", target::create)
+                    .actor(s -> target.tryInsert.apply(s, 1) + " " + target.tryInsert.apply(s, 2))
+                    .actor(s -> target.tryRemove.apply(s) + " " + target.tryRemove.apply(s))
+                    .arbiter(s -> target.size.applyAsInt(s));
+            tests.add(orderedPair);
+        }
+        if (!target.multiProducer) {
+            return tests;
+        }
+        Litmus<S> insertInsert = new Litmus<S>(target.insert + "-" + target.insert, target::create)
+                .actor(s -> target.tryInsert.apply(s, 1))
+                .actor(s -> target.tryInsert.apply(s, 2))
+                .arbiter(s -> target.tryRemove.apply(s) + " " + target.tryRemove.apply(s));
+        Litmus<S> removeRemove = new Litmus<S>(target.remove + "-" + target.remove, () -> {
+            S s = target.create();
+            target.tryInsert.apply(s, 1);
+            return s;
+        })
+                .actor(target.tryRemove)
+                .actor(target.tryRemove)
+                .arbiter(s -> target.size.applyAsInt(s));
+        tests.add(insertInsert);
+        tests.add(removeRemove);
+        return tests;
+    }
+
+    static Set<String> allowed(String test) {
+        switch (test) {
+            case "enqueue-dequeue":
+            case "push-pop":
+                return Set.of("ok, 1 | 0", "ok, empty | 1");
+            case "ordered-pair":
+                return Set.of("ok ok, empty empty | 2", "ok ok, empty 1 | 1", "ok ok, 1 empty | 1", "ok ok, 1 2 | 0");
+            case "enqueue-enqueue":
+            case "push-push":
+                return Set.of("ok, ok | 1 2", "ok, ok | 2 1");
+            case "dequeue-dequeue":
+            case "pop-pop":
+                return Set.of("1, empty | 0", "empty, 1 | 0");
+            default:
+                throw new IllegalArgumentException("unknown litmus test " + test);
+        }
+    }
+
+    /**
+     * Records a short random history: three threads mixing inserts and removes on a multi-producer target,
+     * or one producer and one consumer on an SPSC queue. Elements are unique so the checker can tell them apart.
+     */
+    static <S> History record(Target<S> target, Random random) throws InterruptedException {
+        S s = target.create();
+        int threads = target.multiProducer ? 3 : 2;
+        History history = new History(threads);
+        long[] seeds = new long[threads];
+        for (int t = 0; t < threads; t++) {
+            seeds[t] = random.nextLong();
+        }
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                Random r = new Random(seeds[thread]);
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    boolean insert = target.multiProducer ? r.nextBoolean() : thread == 0;
+                    if (insert) {
+                        Integer value = thread * 1000 + i;
+                        History.Operation op = history.begin(thread, History.Kind.INSERT, value);
+                        boolean ok = "ok".equals(target.tryInsert.apply(s, value));
+                        history.end(op, null, ok);
+                    } else {
+                        History.Operation op = history.begin(thread, History.Kind.REMOVE, null);
+                        Object result = target.tryRemove.apply(s);
+                        history.end(op, result, !"empty".equals(result));
+                    }
+                    if (r.nextInt(4) == 0) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        for (Thread w : workers) {
+            w.start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        return history;
+    }
+
+    // Throughput with 1, 2, 4 .. maxThreads threads each alternating insert and remove; an SPSC queue only
+    // ever gets one producer and one consumer. Only operations that succeed are counted, each once.
+    private static <S> void sweep(Target<S> target, int maxThreads) throws InterruptedException {
+        double best = 0;
+        StringBuilder line = new StringBuilder("sweep ");
+        String collapse = "none";
+        for (int threads = 1; threads <= (target.multiProducer ? maxThreads : 2); threads *= 2) {
+            S s = target.factory.apply(SWEEP_CAPACITY);
+            long[] done = new long[threads];
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                boolean producer = target.multiProducer || t == 0;
+                boolean consumer = target.multiProducer || t == 1 || threads == 1;
+                workers[t] = new Thread(() -> {
+                    long ok = 0;
+                    for (int i = 0; i < SWEEP_OPS; i++) {
+                        if (producer && "ok".equals(target.tryInsert.apply(s, Boolean.TRUE))) {
+                            ok++;
+                        }
+                        if (consumer && !"empty".equals(target.tryRemove.apply(s))) {
+                            ok++;
+                        }
+                    }
+                    done[thread] = ok;
+                });
+            }
+            long start = System.nanoTime();
+            for (Thread w : workers) {
+                w.start();
+            }
+            for (Thread w : workers) {
+                w.join();
+            }
+            long elapsed = System.nanoTime() - start;
+            long operations = 0;
+            for (long d : done) {
+                operations += d;
+            }
+            double mops = operations * 1e3 / elapsed;
+            line.append(String.format(" %d:%.1f", threads, mops));
+            if (mops < COLLAPSE * best && collapse.equals("none")) {
+                collapse = threads + " threads";
+            }
+            best = Math.max(best, mops);
+        }
+        System.out.println(line + " Mops/s, collapse at " + collapse);
+    }
+
+    static String tryEnqueue(IQueue q, Object value) {
+        try {
+            q.enqueue(value);
+            return "ok";
+        } catch (QueueFullException e) {
+            return "full";
+        }
+    }
+
+    static Object tryDequeue(IQueue q) {
+        try {
+            return q.dequeue();
+        } catch (QueueEmptyException e) {
+            return "empty";
+        }
+    }
+
+    static String tryPush(IStack s, Object value) {
+        try {
+            s.push(value);
+            return "ok";
+        } catch (StackOverflowException e) {
+            return "full";
+        }
+    }
+
+    static Object tryPop(IStack s) {
+        try {
+            return s.pop();
+        } catch (StackEmptyException e) {
+            return "empty";
+        }
+    }
+}
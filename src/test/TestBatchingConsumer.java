@@ -0,0 +1,155 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import common.AbstractFactoryClient;
+import impl.BatchingConsumer;
+import impl.Histogram;
+import interfaces.IQueue;
+
+/**
+ * Tests the batching consumer and its histograms.
+ */
+public class TestBatchingConsumer extends AbstractFactoryClient {
+
+    private static final int DEFAULT_MAX_SIZE = 32;
+    private static final long LINGER = 100;
+
+    private IQueue queue;
+    private List<List<Object>> batches;
+    private Object[] lastArray;
+    private long now;
+    private BatchingConsumer consumer;
+
+    /**
+     * Sets up an empty queue and a consumer with a manual clock.
+     */
+    @BeforeEach
+    public void setUp() {
+        queue = getFactory().makeDoubleStackQueue(DEFAULT_MAX_SIZE);
+        batches = new ArrayList<>();
+        consumer = new BatchingConsumer(queue, 4, LINGER, (array, n) -> {
+            lastArray = array;
+            batches.add(new ArrayList<>(Arrays.asList(array).subList(0, n)));
+        }, () -> now);
+    }
+
+    /**
+     * Full batches are flushed at once, and the remainder waits for the linger time.
+     */
+    @Test
+    void flushesOnSize() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(i);
+        }
+        assertEquals(8, consumer.poll());
+        assertEquals(List.of(List.of(0, 1, 2, 3), List.of(4, 5, 6, 7)), batches);
+        assertEquals(2, consumer.pending());
+        assertEquals(LINGER, consumer.nanosToDeadline());
+    }
+
+    /**
+     * A partial batch is flushed once its first element has lingered long enough.
+     */
+    @Test
+    void flushesOnDeadline() throws Exception {
+        queue.enqueue("a");
+        assertEquals(0, consumer.poll());
+        now = 60;
+        queue.enqueue("b");
+        assertEquals(0, consumer.poll());
+        assertEquals(40, consumer.nanosToDeadline());
+        now = 100;
+        assertEquals(2, consumer.poll());
+        assertEquals(List.of(List.of("a", "b")), batches);
+        assertEquals(Long.MAX_VALUE, consumer.nanosToDeadline());
+        assertEquals(100, consumer.lingerTimes().max());
+    }
+
+    /**
+     * The same array is reused for every batch and cleared after the sink returns.
+     */
+    @Test
+    void reusesAndClearsArray() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(i);
+        }
+        consumer.poll();
+        Object[] first = lastArray;
+        assertEquals(1, consumer.flush());
+        assertEquals(first, lastArray);
+        for (Object o : first) {
+            assertNull(o);
+        }
+        assertEquals(0, consumer.flush());
+    }
+
+    /**
+     * The batch size histogram records every flush.
+     */
+    @Test
+    void recordsBatchSizes() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            queue.enqueue(i);
+        }
+        consumer.poll();
+        consumer.flush();
+        Histogram sizes = consumer.batchSizes();
+        assertEquals(2, sizes.count());
+        assertEquals(4, sizes.max());
+        assertEquals(2, sizes.percentile(50));
+        assertEquals(3.0, sizes.mean());
+    }
+
+    /**
+     * Percentiles are exact for small values and within a bucket's width for large ones.
+     */
+    @Test
+    void histogramPercentiles() {
+        Histogram h = new Histogram();
+        assertEquals(0, h.percentile(99));
+        for (int i = 1; i <= 1000; i++) {
+            h.record(i);
+        }
+        assertEquals(1000, h.count());
+        assertEquals(1, h.percentile(0));
+        assertEquals(10, h.percentile(1));
+        long p50 = h.percentile(50);
+        long p99 = h.percentile(99);
+        assertTrue(p50 >= 500 && p50 <= 500 * 17 / 16, "p50 was " + p50);
+        assertTrue(p99 >= 990 && p99 <= 1000, "p99 was " + p99);
+        assertEquals(1000, h.percentile(100));
+        h.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, h.percentile(100));
+        assertThrows(IllegalArgumentException.class, () -> h.record(-1));
+        h.clear();
+        assertEquals(0, h.count());
+    }
+
+    /**
+     * add() merges another histogram's counts and keeps the larger maximum.
+     */
+    @Test
+    void histogramAddMerges() {
+        Histogram h = new Histogram();
+        h.record(10);
+        h.record(Long.MAX_VALUE);
+        Histogram other = new Histogram();
+        other.record(3);
+        other.add(h);
+        assertEquals(3, other.count());
+        assertEquals(Long.MAX_VALUE, other.max());
+        assertEquals(3, other.percentile(0));
+        assertEquals(2, h.count());
+    }
+}
@@ -0,0 +1,147 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import common.AbstractFactoryClient;
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.CoDelQueue;
+import interfaces.IQueue;
+
+/**
+ * Tests CoDel sojourn-time queue implementation.
+ */
+public class TestCoDelQueue extends AbstractFactoryClient {
+
+    private static final long TARGET = 5;
+    private static final long INTERVAL = 100;
+    private long now;
+    private CoDelQueue q;
+
+    /**
+     * Sets up a fresh queue driven by a manual clock before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        now = 0;
+        q = new CoDelQueue(10, TARGET, INTERVAL, () -> now);
+    }
+
+    /**
+     * Tests that the factory constructs a non-null object.
+     */
+    @Test
+    public void factoryReturnsNonNullCoDelQueue() {
+        IQueue queue = getFactory().makeCoDelQueue(10, 5_000_000L, 100_000_000L);
+        assertNotNull(queue, "Failure: IFactory.makeCoDelQueue returns null, expected non-null object");
+    }
+
+    /**
+     * Without standing delay the queue behaves as a plain FIFO queue.
+     */
+    @Test
+    void fifoWhenBelowTarget() throws Exception {
+        for (int i = 1; i <= 10; i++) {
+            q.enqueue(i);
+        }
+        assertThrows(QueueFullException.class, () -> q.enqueue(11));
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(i, q.dequeue());
+        }
+        assertEquals(0, q.droppedCount());
+        assertThrows(QueueEmptyException.class, q::dequeue);
+    }
+
+    /**
+     * Sojourn time is measured from enqueue to dequeue.
+     */
+    @Test
+    void measuresSojournTime() throws Exception {
+        q.enqueue("A");
+        now = 3;
+        q.enqueue("B");
+        now = 10;
+        assertEquals("A", q.dequeue());
+        assertEquals(10, q.lastSojournNanos());
+        assertEquals("B", q.dequeue());
+        assertEquals(7, q.lastSojournNanos());
+    }
+
+    /**
+     * A delay above target that persists for an interval makes the queue drop from the head.
+     */
+    @Test
+    void dropsWhenDelayPersists() throws Exception {
+        for (int i = 1; i <= 10; i++) {
+            q.enqueue(i);
+        }
+        now = 50;
+        assertEquals(1, q.dequeue()); // above target: starts the interval
+        assertFalse(q.isDropping());
+        now = 200;
+        assertEquals(3, q.dequeue()); // interval elapsed: 2 is dropped
+        assertTrue(q.isDropping());
+        assertEquals(1, q.droppedCount());
+        assertEquals(7, q.size());
+    }
+
+    /**
+     * Short delay bursts which drain within the interval are not dropped.
+     */
+    @Test
+    void shortBurstIsNotDropped() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            q.enqueue(i);
+        }
+        now = 50;
+        assertEquals(1, q.dequeue());
+        q.enqueue(6);
+        now = 60;
+        for (int i = 2; i <= 6; i++) {
+            assertEquals(i, q.dequeue());
+        }
+        assertEquals(0, q.droppedCount());
+        assertFalse(q.isDropping());
+    }
+
+    /**
+     * The last remaining element is always served, never dropped.
+     */
+    @Test
+    void neverDropsLastElement() throws Exception {
+        q.enqueue("A");
+        q.enqueue("B");
+        now = 50;
+        assertEquals("A", q.dequeue());
+        now = 1000;
+        assertEquals("B", q.dequeue());
+        assertEquals(0, q.droppedCount());
+        assertTrue(q.isEmpty());
+    }
+
+    /**
+     * clear() empties the queue and resets the drop state.
+     */
+    @Test
+    void clearResetsDropState() throws Exception {
+        for (int i = 1; i <= 10; i++) {
+            q.enqueue(i);
+        }
+        now = 50;
+        q.dequeue();
+        now = 200;
+        q.dequeue();
+        q.clear();
+        assertTrue(q.isEmpty());
+        assertFalse(q.isDropping());
+        q.enqueue("X");
+        assertEquals("X", q.dequeue());
+    }
+}
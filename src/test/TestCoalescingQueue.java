@@ -0,0 +1,114 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import common.AbstractFactoryClient;
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.CoalescingQueue;
+import interfaces.IQueue;
+
+/**
+ * Tests coalescing queue implementation.
+ */
+public class TestCoalescingQueue extends AbstractFactoryClient {
+
+    /**
+     * Tests that the factory constructs a non-null object.
+     */
+    @Test
+    public void factoryReturnsNonNullCoalescingQueue() {
+        IQueue queue = getFactory().makeCoalescingQueue(10, e -> e, (a, b) -> b);
+        assertNotNull(queue, "Failure: IFactory.makeCoalescingQueue returns null, expected non-null object");
+    }
+
+    /**
+     * A duplicate key replaces the pending value and keeps its position.
+     */
+    @Test
+    void duplicateReplacesInPlace() throws Exception {
+        CoalescingQueue q = new CoalescingQueue(5, e -> ((String) e).substring(0, 1));
+        q.enqueue("a1");
+        q.enqueue("b1");
+        q.enqueue("a2");
+        q.enqueue("c1");
+        q.enqueue("b2");
+        assertEquals(3, q.size());
+        assertEquals(2, q.coalescedCount());
+        assertEquals("a2", q.dequeue());
+        assertFalse(q.isPending("a"));
+        q.enqueue("a3"); // no longer pending, so it goes to the back
+        assertEquals("b2", q.dequeue());
+        assertEquals("c1", q.dequeue());
+        assertEquals("a3", q.dequeue());
+        assertThrows(QueueEmptyException.class, q::dequeue);
+    }
+
+    /**
+     * A merger combines the pending value with the incoming one.
+     */
+    @Test
+    void mergerCombinesValues() throws Exception {
+        CoalescingQueue q = new CoalescingQueue(3, e -> (Integer) e % 10, (a, b) -> (Integer) a + (Integer) b);
+        q.enqueue(1);
+        q.enqueue(11);
+        q.enqueue(21);
+        q.enqueue(2);
+        assertEquals(33, q.dequeue());
+        assertEquals(2, q.dequeue());
+    }
+
+    /**
+     * A full queue still accepts elements whose key is pending.
+     */
+    @Test
+    void fullQueueStillCoalesces() throws Exception {
+        CoalescingQueue q = new CoalescingQueue(2, e -> e);
+        q.enqueue("x");
+        q.enqueue("y");
+        assertThrows(QueueFullException.class, () -> q.enqueue("z"));
+        q.enqueue("x");
+        assertEquals(2, q.size());
+        q.clear();
+        assertTrue(q.isEmpty());
+        assertFalse(q.isPending("x"));
+    }
+
+    /**
+     * Random operations on colliding keys agree with an insertion-ordered map.
+     */
+    @Test
+    void matchesLinkedHashMap() throws Exception {
+        Random random = new Random(5);
+        CoalescingQueue q = new CoalescingQueue(16, e -> ((int[]) e)[0]);
+        Map<Integer, Integer> model = new LinkedHashMap<>();
+        for (int step = 0; step < 50_000; step++) {
+            if (random.nextInt(3) > 0) {
+                int key = random.nextInt(40) * 64; // identical low bits stress the probing
+                if (model.size() < 16 || model.containsKey(key)) {
+                    q.enqueue(new int[] {key, step});
+                    model.put(key, step);
+                } else {
+                    assertThrows(QueueFullException.class, () -> q.enqueue(new int[] {key, -1}));
+                }
+            } else if (!model.isEmpty()) {
+                Map.Entry<Integer, Integer> expected = model.entrySet().iterator().next();
+                model.remove(expected.getKey());
+                int[] actual = (int[]) q.dequeue();
+                assertEquals(expected.getKey(), actual[0]);
+                assertEquals(expected.getValue(), actual[1]);
+            }
+            assertEquals(model.size(), q.size());
+        }
+    }
+}
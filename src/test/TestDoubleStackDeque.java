@@ -0,0 +1,127 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import common.AbstractFactoryClient;
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.DoubleStackDeque;
+import interfaces.IDeque;
+
+/**
+ * Tests double stack deque implementation.
+ */
+public class TestDoubleStackDeque extends AbstractFactoryClient {
+
+    /**
+     * Tests that the factory constructs a non-null object.
+     */
+    @Test
+    public void factoryReturnsNonNullDeque() {
+        IDeque deque = getFactory().makeDeque(10);
+        assertNotNull(deque, "Failure: IFactory.makeDeque returns null, expected non-null object");
+    }
+
+    /**
+     * Used from one end only, the deque behaves as a stack; from opposite ends, as a queue.
+     */
+    @Test
+    void stackAndQueueBehaviour() throws Exception {
+        IDeque d = new DoubleStackDeque(5);
+        d.pushBack(1);
+        d.pushBack(2);
+        d.pushBack(3);
+        assertEquals(3, d.popBack());
+        assertEquals(1, d.popFront()); // forces a rebalance from the back
+        assertEquals(2, d.peekFront());
+        assertEquals(2, d.peekBack());
+        d.pushFront(0);
+        assertEquals(0, d.popFront());
+        assertEquals(2, d.popBack());
+        assertTrue(d.isEmpty());
+    }
+
+    /**
+     * Popping or peeking an empty deque throws QueueEmptyException.
+     */
+    @Test
+    void emptyThrows() {
+        IDeque d = new DoubleStackDeque(3);
+        assertThrows(QueueEmptyException.class, d::popFront);
+        assertThrows(QueueEmptyException.class, d::popBack);
+        assertThrows(QueueEmptyException.class, d::peekFront);
+        assertThrows(QueueEmptyException.class, d::peekBack);
+    }
+
+    /**
+     * The capacity is shared between both ends.
+     * @param qSize
+     * @throws Exception
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 5, 10})
+    void fillFromEitherEndToCapacity(int qSize) throws Exception {
+        IDeque d = new DoubleStackDeque(qSize);
+        for (int i = 0; i < qSize; i++) {
+            if (i % 2 == 0) {
+                d.pushFront(i);
+            } else {
+                d.pushBack(i);
+            }
+        }
+        assertEquals(qSize, d.size());
+        assertThrows(QueueFullException.class, () -> d.pushFront(-1));
+        assertThrows(QueueFullException.class, () -> d.pushBack(-1));
+        d.clear();
+        assertTrue(d.isEmpty());
+    }
+
+    /**
+     * Random operations at both ends agree with java.util.ArrayDeque.
+     */
+    @Test
+    void matchesArrayDeque() throws Exception {
+        Random random = new Random(11);
+        IDeque d = new DoubleStackDeque(32);
+        ArrayDeque<Integer> model = new ArrayDeque<>();
+        for (int step = 0; step < 50_000; step++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    if (model.size() < 32) {
+                        d.pushFront(step);
+                        model.addFirst(step);
+                    }
+                    break;
+                case 1:
+                    if (model.size() < 32) {
+                        d.pushBack(step);
+                        model.addLast(step);
+                    }
+                    break;
+                case 2:
+                    if (!model.isEmpty()) {
+                        assertEquals(model.peekFirst(), d.peekFront());
+                        assertEquals(model.removeFirst(), d.popFront());
+                    }
+                    break;
+                default:
+                    if (!model.isEmpty()) {
+                        assertEquals(model.peekLast(), d.peekBack());
+                        assertEquals(model.removeLast(), d.popBack());
+                    }
+                    break;
+            }
+            assertEquals(model.size(), d.size());
+        }
+    }
+}
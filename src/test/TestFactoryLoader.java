@@ -0,0 +1,96 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import common.FactoryLoader;
+import impl.ArrayFactoryProvider;
+import impl.Factory;
+import interfaces.IFactory;
+
+/**
+ * Tests factory singleton and implementation selection.
+ */
+public class TestFactoryLoader {
+
+    /**
+     * Removes any factory configured by a test.
+     */
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(FactoryLoader.PROPERTY);
+    }
+
+    /**
+     * Concurrent callers of getInstance() all see the same factory.
+     */
+    @Test
+    void getInstanceIsSingletonUnderConcurrency() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<IFactory>> calls = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                calls.add(Factory::getInstance);
+            }
+            for (Future<IFactory> result : pool.invokeAll(calls)) {
+                assertSame(Factory.getInstance(), result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Without configuration the array-based factory is selected.
+     */
+    @Test
+    void defaultsToArrayFactory() {
+        assertSame(Factory.getInstance(), FactoryLoader.load());
+    }
+
+    /**
+     * The system property selects a factory by provider name or by class name.
+     */
+    @Test
+    void propertySelectsFactory() {
+        System.setProperty(FactoryLoader.PROPERTY, ArrayFactoryProvider.NAME);
+        assertSame(Factory.getInstance(), FactoryLoader.load());
+        System.setProperty(FactoryLoader.PROPERTY, Factory.class.getName());
+        assertSame(Factory.getInstance(), FactoryLoader.load());
+        System.setProperty(FactoryLoader.PROPERTY, ArrayFactoryProvider.class.getName());
+        assertSame(Factory.getInstance(), FactoryLoader.load());
+    }
+
+    /**
+     * configuredName() reports the factory load() picks, treating a blank property as unset.
+     */
+    @Test
+    void configuredNameMatchesLoad() {
+        System.setProperty(FactoryLoader.PROPERTY, " " + Factory.class.getName() + " ");
+        assertEquals(Factory.class.getName(), FactoryLoader.configuredName());
+        System.setProperty(FactoryLoader.PROPERTY, "  ");
+        if (System.getenv(FactoryLoader.ENVIRONMENT) == null) {
+            assertEquals(ArrayFactoryProvider.NAME, FactoryLoader.configuredName());
+        }
+    }
+
+    /**
+     * An unknown or unsuitable name is rejected.
+     */
+    @Test
+    void unknownNameIsRejected() {
+        assertThrows(IllegalStateException.class, () -> FactoryLoader.forName("no-such-engine"));
+        assertThrows(IllegalStateException.class, () -> FactoryLoader.forName(String.class.getName()));
+    }
+}
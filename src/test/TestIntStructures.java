@@ -0,0 +1,185 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import common.StackEmptyException;
+import common.StackOverflowException;
+import impl.IntKernel;
+import impl.IntQueue;
+import impl.IntStack;
+
+/**
+ * Tests the primitive int stack and queue and their bulk operations.
+ */
+public class TestIntStructures {
+
+    /**
+     * Push, pop and top behave like the object stack, with the same exceptions.
+     */
+    @Test
+    void stackBasics() throws Exception {
+        IntStack stack = new IntStack(2);
+        stack.push(1);
+        stack.push(2);
+        assertThrows(StackOverflowException.class, () -> stack.push(3));
+        assertEquals(2, stack.top());
+        assertEquals(2, stack.pop());
+        assertEquals(1, stack.pop());
+        assertThrows(StackEmptyException.class, stack::pop);
+        assertThrows(StackEmptyException.class, stack::min);
+    }
+
+    /**
+     * indexOf finds the topmost occurrence, counting down from the top, across block boundaries.
+     */
+    @Test
+    void stackSearch() throws Exception {
+        IntStack stack = new IntStack(100);
+        for (int i = 0; i < 100; i++) {
+            stack.push(i % 40);
+        }
+        assertEquals(0, stack.indexOf(19));
+        assertEquals(20, stack.indexOf(39));
+        assertEquals(19, stack.indexOf(0));
+        assertEquals(-1, stack.indexOf(40));
+        assertTrue(stack.contains(5));
+        assertFalse(stack.contains(-5));
+    }
+
+    /**
+     * The reductions agree with a straightforward computation on random data.
+     */
+    @Test
+    void stackReductions() throws Exception {
+        Random random = new Random(11);
+        int[] values = new int[1000];
+        long sum = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt();
+            sum += values[i];
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+        }
+        IntStack stack = new IntStack(values.length);
+        stack.pushAll(values, 0, values.length);
+        assertEquals(sum, stack.sum());
+        assertEquals(min, stack.min());
+        assertEquals(max, stack.max());
+        assertArrayEquals(values, stack.toArray());
+    }
+
+    /**
+     * reverse() puts the bottom value on top.
+     */
+    @Test
+    void stackReverse() throws Exception {
+        IntStack stack = new IntStack(5);
+        stack.pushAll(new int[] {1, 2, 3, 4, 5}, 0, 5);
+        stack.reverse();
+        assertArrayEquals(new int[] {5, 4, 3, 2, 1}, stack.toArray());
+        assertEquals(1, stack.pop());
+        assertThrows(StackOverflowException.class, () -> stack.pushAll(new int[2], 0, 2));
+        assertEquals(4, stack.size());
+    }
+
+    /**
+     * The queue is FIFO across transfers and its bulk operations see both stacks.
+     */
+    @Test
+    void queueOrderAndBulkOps() throws Exception {
+        IntQueue queue = new IntQueue(4);
+        queue.enqueue(1);
+        queue.enqueue(2);
+        queue.enqueue(3);
+        assertEquals(1, queue.dequeue());
+        queue.enqueue(7);
+        queue.enqueue(-4);
+        assertThrows(QueueFullException.class, () -> queue.enqueue(9));
+        assertArrayEquals(new int[] {2, 3, 7, -4}, queue.toArray());
+        assertEquals(8, queue.sum());
+        assertEquals(-4, queue.min());
+        assertEquals(7, queue.max());
+        assertTrue(queue.contains(3));
+        assertTrue(queue.contains(-4));
+        assertFalse(queue.contains(1));
+        for (int expected : new int[] {2, 3, 7, -4}) {
+            assertEquals(expected, queue.dequeue());
+        }
+        assertThrows(QueueEmptyException.class, queue::dequeue);
+        assertThrows(QueueEmptyException.class, queue::max);
+    }
+
+    /**
+     * indexOf() counts from the front across both stacks, and reverse() flips the order without a copy.
+     */
+    @Test
+    void queueIndexOfAndReverse() throws Exception {
+        IntQueue queue = new IntQueue(6);
+        for (int v : new int[] {5, 6, 7}) {
+            queue.enqueue(v);
+        }
+        assertEquals(5, queue.dequeue());       // 6, 7 now on the output side
+        queue.enqueue(8);
+        queue.enqueue(6);
+        assertEquals(0, queue.indexOf(6));
+        assertEquals(2, queue.indexOf(8));
+        assertEquals(-1, queue.indexOf(5));
+        queue.reverse();
+        assertArrayEquals(new int[] {6, 8, 7, 6}, queue.toArray());
+        assertEquals(1, queue.indexOf(8));
+        queue.enqueue(9);
+        for (int expected : new int[] {6, 8, 7, 6, 9}) {
+            assertEquals(expected, queue.dequeue());
+        }
+    }
+
+    /**
+     * The scalar kernel and the kernel in use, which is the vector one when the JVM provides it, agree with
+     * naive loops on every operation, over ranges of awkward lengths and sums that overflow an int.
+     */
+    @Test
+    void kernelsMatchNaiveLoops() {
+        Random random = new Random(13);
+        int[] a = new int[300];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextBoolean() ? random.nextInt(50) - 25 : Integer.MAX_VALUE - random.nextInt(3);
+        }
+        for (IntKernel kernel : new IntKernel[] {IntKernel.scalar(), IntKernel.preferred()}) {
+            for (int round = 0; round < 500; round++) {
+                int from = random.nextInt(a.length);
+                int to = from + random.nextInt(a.length - from + 1);
+                int value = random.nextInt(60) - 30;
+                long sum = 0;
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                int first = -1;
+                int last = -1;
+                for (int i = from; i < to; i++) {
+                    sum += a[i];
+                    min = Math.min(min, a[i]);
+                    max = Math.max(max, a[i]);
+                    first = first < 0 && a[i] == value ? i : first;
+                    last = a[i] == value ? i : last;
+                }
+                String range = kernel.name() + " [" + from + ", " + to + ")";
+                assertEquals(sum, kernel.sum(a, from, to), range);
+                assertEquals(min, kernel.min(a, from, to), range);
+                assertEquals(max, kernel.max(a, from, to), range);
+                assertEquals(first, kernel.firstIndexOf(a, from, to, value), range);
+                assertEquals(last, kernel.lastIndexOf(a, from, to, value), range);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.SpscArrayQueue;
+import interfaces.IQueue;
+import stress.History;
+import stress.History.Kind;
+import stress.LinearizabilityChecker;
+import stress.Litmus;
+
+/**
+ * Tests the linearizability checker and the litmus runner, and runs a short stress of SpscArrayQueue.
+ */
+public class TestLinearizability {
+
+    private static final int CAPACITY = 4;
+
+    /**
+     * Overlapping enqueues may be linearized in either order.
+     */
+    @Test
+    void overlappingEnqueuesLinearize() {
+        History history = new History(3);
+        history.add(0, Kind.INSERT, 1, true, 0, 10);
+        history.add(1, Kind.INSERT, 2, true, 5, 15);
+        history.add(2, Kind.REMOVE, 2, true, 20, 30);
+        history.add(2, Kind.REMOVE, 1, true, 31, 40);
+        LinearizabilityChecker checker = LinearizabilityChecker.forQueue(CAPACITY);
+        assertTrue(checker.check(history));
+        assertEquals(2, checker.witness().get(0).value());
+    }
+
+    /**
+     * Enqueues which did not overlap must come out in order.
+     */
+    @Test
+    void sequentialEnqueuesMustStayOrdered() {
+        History history = new History(2);
+        history.add(0, Kind.INSERT, 1, true, 0, 10);
+        history.add(0, Kind.INSERT, 2, true, 11, 20);
+        history.add(1, Kind.REMOVE, 2, true, 21, 30);
+        assertFalse(LinearizabilityChecker.forQueue(CAPACITY).check(history));
+        assertTrue(LinearizabilityChecker.forStack(CAPACITY).check(history));
+    }
+
+    /**
+     * An empty dequeue is only allowed at a point where the queue could have been empty.
+     */
+    @Test
+    void emptyResultsAreChecked() {
+        History allowed = new History(2);
+        allowed.add(0, Kind.INSERT, 1, true, 0, 10);
+        allowed.add(1, Kind.REMOVE, null, false, 5, 8);
+        assertTrue(LinearizabilityChecker.forQueue(CAPACITY).check(allowed));
+
+        History lost = new History(2);
+        lost.add(0, Kind.INSERT, 1, true, 0, 10);
+        lost.add(1, Kind.REMOVE, null, false, 11, 20);
+        assertFalse(LinearizabilityChecker.forQueue(CAPACITY).check(lost));
+    }
+
+    /**
+     * Random single-producer single-consumer histories on SpscArrayQueue are linearizable.
+     */
+    @Test
+    void spscHistoriesAreLinearizable() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            IQueue q = new SpscArrayQueue(CAPACITY);
+            History history = new History(2);
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 10; i++) {
+                    History.Operation op = history.begin(0, Kind.INSERT, i);
+                    boolean ok = true;
+                    try {
+                        q.enqueue(i);
+                    } catch (QueueFullException e) {
+                        ok = false;
+                    }
+                    history.end(op, null, ok);
+                }
+            });
+            producer.start();
+            for (int i = 0; i < 10; i++) {
+                History.Operation op = history.begin(1, Kind.REMOVE, null);
+                try {
+                    history.end(op, q.dequeue(), true);
+                } catch (QueueEmptyException e) {
+                    history.end(op, null, false);
+                }
+                Thread.yield();
+            }
+            producer.join();
+            assertTrue(LinearizabilityChecker.forQueue(CAPACITY).check(history), history.operations().toString());
+        }
+    }
+
+    /**
+     * An enqueue racing a dequeue on SpscArrayQueue gives only the outcomes a FIFO queue allows.
+     */
+    @Test
+    void spscEnqueueDequeueLitmus() throws Exception {
+        Litmus<IQueue> litmus = new Litmus<IQueue>("enqueue-dequeue", () -> new SpscArrayQueue(CAPACITY))
+                .actor(q -> {
+                    try {
+                        q.enqueue(1);
+                        return "ok";
+                    } catch (QueueFullException e) {
+                        return "full";
+                    }
+                })
+                .actor(q -> {
+                    try {
+                        return q.dequeue();
+                    } catch (QueueEmptyException e) {
+                        return "empty";
+                    }
+                })
+                .arbiter(IQueue::size);
+        Map<String, Long> outcomes = litmus.run(20);
+        assertEquals(Map.of(), Litmus.forbidden(outcomes, Set.of("ok, 1 | 0", "ok, empty | 1")));
+    }
+}
@@ -0,0 +1,177 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import common.AbstractFactoryClient;
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.MappedFileQueue;
+import impl.MappedFileQueue.FsyncPolicy;
+import impl.Serializers;
+import interfaces.IQueue;
+
+/**
+ * Tests memory-mapped persistent queue implementation.
+ */
+public class TestMappedFileQueue extends AbstractFactoryClient {
+
+    private static final int SEGMENT_SIZE = 64;
+
+    @TempDir
+    Path dir;
+
+    private MappedFileQueue open(FsyncPolicy policy) throws Exception {
+        return new MappedFileQueue(dir, 100, Serializers.INTEGER, SEGMENT_SIZE, policy, 2);
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith(".seg")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Tests that the factory constructs a non-null object.
+     */
+    @Test
+    public void factoryReturnsNonNullMappedFileQueue() throws Exception {
+        IQueue queue = getFactory().makeMappedFileQueue(dir, 10, Serializers.STRING);
+        assertNotNull(queue, "Failure: IFactory.makeMappedFileQueue returns null, expected non-null object");
+        ((AutoCloseable) queue).close();
+    }
+
+    /**
+     * Elements come out in FIFO order across several segments.
+     */
+    @Test
+    void fifoAcrossSegments() throws Exception {
+        try (MappedFileQueue q = open(FsyncPolicy.NEVER)) {
+            for (int i = 0; i < 30; i++) {
+                q.enqueue(i);
+            }
+            assertTrue(segments().size() > 1);
+            for (int i = 0; i < 30; i++) {
+                assertEquals(i, q.dequeue());
+            }
+            assertThrows(QueueEmptyException.class, q::dequeue);
+            assertEquals(1, segments().size(), "consumed segments should be deleted");
+        }
+    }
+
+    /**
+     * Enqueueing beyond the capacity throws QueueFullException.
+     */
+    @Test
+    void rejectsBeyondCapacity() throws Exception {
+        try (MappedFileQueue q = new MappedFileQueue(dir, 3, Serializers.STRING)) {
+            q.enqueue("a");
+            q.enqueue("b");
+            q.enqueue("c");
+            assertThrows(QueueFullException.class, () -> q.enqueue("d"));
+        }
+    }
+
+    /**
+     * Elements and the head position survive closing and reopening the queue.
+     */
+    @Test
+    void survivesReopen() throws Exception {
+        try (MappedFileQueue q = open(FsyncPolicy.EVERY_N)) {
+            for (int i = 0; i < 20; i++) {
+                q.enqueue(i);
+            }
+            for (int i = 0; i < 7; i++) {
+                assertEquals(i, q.dequeue());
+            }
+        }
+        try (MappedFileQueue q = open(FsyncPolicy.BATCH)) {
+            assertEquals(13, q.size());
+            q.enqueue(20);
+            for (int i = 7; i <= 20; i++) {
+                assertEquals(i, q.dequeue());
+            }
+            assertTrue(q.isEmpty());
+        }
+    }
+
+    /**
+     * A torn record at the tail is discarded on recovery and the queue stays usable.
+     */
+    @Test
+    void recoversFromTornTail() throws Exception {
+        try (MappedFileQueue q = open(FsyncPolicy.BATCH)) {
+            q.enqueue(1);
+            q.enqueue(2);
+        }
+        List<Path> segs = segments();
+        try (RandomAccessFile file = new RandomAccessFile(segs.get(segs.size() - 1).toFile(), "rw")) {
+            file.seek(2 * 12);
+            file.writeInt(4 + 1);   // committed length
+            file.writeInt(0xBAD);   // but a crc which does not match the payload
+        }
+        try (MappedFileQueue q = open(FsyncPolicy.BATCH)) {
+            assertEquals(2, q.size());
+            q.enqueue(3);
+            assertEquals(1, q.dequeue());
+            assertEquals(2, q.dequeue());
+            assertEquals(3, q.dequeue());
+        }
+    }
+
+    /**
+     * clear() empties the queue durably.
+     */
+    @Test
+    void clearIsDurable() throws Exception {
+        try (MappedFileQueue q = open(FsyncPolicy.BATCH)) {
+            for (int i = 0; i < 10; i++) {
+                q.enqueue(i);
+            }
+            q.clear();
+            q.enqueue(42);
+        }
+        try (MappedFileQueue q = open(FsyncPolicy.BATCH)) {
+            assertEquals(1, q.size());
+            assertEquals(42, q.dequeue());
+        }
+    }
+
+    /**
+     * Empty payloads are records like any other, in the same session and after reopening, including when
+     * one is the last record of a segment.
+     */
+    @Test
+    void emptyPayloadsSurviveRollAndReopen() throws Exception {
+        List<String> elements = Stream.iterate(0, i -> i + 1).limit(30)
+                .map(i -> i % 4 == 3 ? String.valueOf(i) : "").collect(Collectors.toList());
+        try (MappedFileQueue q = new MappedFileQueue(dir, 100, Serializers.STRING, SEGMENT_SIZE, FsyncPolicy.BATCH, 0)) {
+            for (String element : elements) {
+                q.enqueue(element);
+            }
+            assertTrue(segments().size() > 1);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(elements.get(i), q.dequeue());
+            }
+        }
+        try (MappedFileQueue q = new MappedFileQueue(dir, 100, Serializers.STRING, SEGMENT_SIZE, FsyncPolicy.BATCH, 0)) {
+            assertEquals(20, q.size());
+            for (int i = 10; i < 30; i++) {
+                assertEquals(elements.get(i), q.dequeue(), "element " + i);
+            }
+            assertThrows(QueueEmptyException.class, q::dequeue);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import common.AbstractFactoryClient;
+import impl.MultiStack;
+import interfaces.IMultiStack;
+import interfaces.IStack;
+
+/**
+ * Tests multi stack arena implementation.
+ */
+public class TestMultiStack extends AbstractFactoryClient {
+
+    private static final int STACKS = 4;
+    private static final int DEFAULT_MAX_SIZE = 20;
+    private IMultiStack multiStack;
+
+    /**
+     * Sets up a fresh multi stack before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        multiStack = getFactory().makeMultiStack(STACKS, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Tests that the factory constructs a non-null multi stack with the requested number of stacks.
+     */
+    @Test
+    public void factoryReturnsNonNullMultiStackObject() {
+        assertNotNull(multiStack, "Failure: IFactory.makeMultiStack returns null, expected non-null object");
+        assertEquals(STACKS, multiStack.getStackCount());
+    }
+
+    /**
+     * Stacks keep LIFO order and do not interfere with one another.
+     */
+    @Test
+    void stacksDoNotInterfere() throws Exception {
+        for (int i = 0; i < STACKS; i++) {
+            multiStack.getStack(i).push("a" + i);
+            multiStack.getStack(i).push("b" + i);
+        }
+        for (int i = 0; i < STACKS; i++) {
+            IStack s = multiStack.getStack(i);
+            assertEquals(2, s.size());
+            assertEquals("b" + i, s.pop());
+            assertEquals("a" + i, s.top());
+        }
+    }
+
+    /**
+     * A single stack can grow into all of its neighbours' free space.
+     */
+    @Test
+    void oneStackCanUseWholeArray() throws Exception {
+        IStack s = multiStack.getStack(1);
+        for (int i = 0; i < DEFAULT_MAX_SIZE; i++) {
+            s.push(i);
+        }
+        assertThrows(common.StackOverflowException.class, () -> s.push("overflow"));
+        assertThrows(common.StackOverflowException.class, () -> multiStack.getStack(0).push("overflow"));
+        for (int i = DEFAULT_MAX_SIZE - 1; i >= 0; i--) {
+            assertEquals(i, s.pop());
+        }
+        assertTrue(s.isEmpty());
+    }
+
+    /**
+     * Popping or peeking an empty stack throws StackEmptyException.
+     */
+    @Test
+    void popOnEmptyThrows() {
+        IStack s = multiStack.getStack(3);
+        assertThrows(common.StackEmptyException.class, s::pop);
+        assertThrows(common.StackEmptyException.class, s::top);
+    }
+
+    /**
+     * Random pushes and pops across all stacks agree with independent stacks, and the array only
+     * overflows once it is completely full.
+     */
+    @Test
+    void matchesIndependentStacks() throws Exception {
+        Random random = new Random(3);
+        MultiStack ms = new MultiStack(7, 50);
+        List<ArrayDeque<Integer>> model = new ArrayList<>();
+        int total = 0;
+        for (int i = 0; i < 7; i++) {
+            model.add(new ArrayDeque<>());
+        }
+        for (int step = 0; step < 20_000; step++) {
+            int i = random.nextInt(7);
+            IStack s = ms.getStack(i);
+            if (random.nextInt(5) < 3) {
+                if (total == 50) {
+                    assertThrows(common.StackOverflowException.class, () -> s.push(-1));
+                } else {
+                    s.push(step);
+                    model.get(i).push(step);
+                    total++;
+                }
+            } else if (!model.get(i).isEmpty()) {
+                assertEquals(model.get(i).pop(), s.pop());
+                total--;
+            }
+            assertEquals(50 - total, ms.freeSpace());
+        }
+        for (int i = 0; i < model.size(); i++) {
+            while (!model.get(i).isEmpty()) {
+                assertEquals(model.get(i).pop(), ms.getStack(i).pop());
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import common.AbstractFactoryClient;
+import common.QueueEmptyException;
+import common.QueueFullException;
+import common.StackEmptyException;
+import common.StackOverflowException;
+import impl.PersistentQueue;
+import impl.PersistentStack;
+import impl.VersionedQueue;
+import impl.VersionedStack;
+import interfaces.IPersistentQueue;
+import interfaces.IPersistentStack;
+import interfaces.IVersionedQueue;
+import interfaces.IVersionedStack;
+
+/**
+ * Tests persistent stack and queue implementations and their versioned adapters.
+ */
+public class TestPersistentStructures extends AbstractFactoryClient {
+
+    private static List<Object> drain(PersistentQueue q) throws QueueEmptyException {
+        List<Object> out = new ArrayList<>();
+        while (!q.isEmpty()) {
+            out.add(q.head());
+            q = q.dequeue();
+        }
+        return out;
+    }
+
+    /**
+     * Tests that the factory constructs non-null objects.
+     */
+    @Test
+    public void factoryReturnsNonNullVersionedStructures() {
+        assertNotNull(getFactory().makeVersionedStack(10), "Failure: IFactory.makeVersionedStack returns null");
+        assertNotNull(getFactory().makeVersionedQueue(10), "Failure: IFactory.makeVersionedQueue returns null");
+    }
+
+    /**
+     * snapshot() is reachable through the interfaces the factory returns, and snapshots do not change afterwards.
+     */
+    @Test
+    void factorySnapshotsAreStable() throws Exception {
+        IVersionedStack stack = getFactory().makeVersionedStack(10);
+        stack.push("a");
+        IPersistentStack stackVersion = stack.snapshot();
+        stack.push("b");
+        assertEquals(1, stackVersion.size());
+        assertEquals("a", stackVersion.top());
+
+        IVersionedQueue queue = getFactory().makeVersionedQueue(10);
+        queue.enqueue("x");
+        queue.enqueue("y");
+        IPersistentQueue queueVersion = queue.snapshot();
+        queue.dequeue();
+        assertEquals("x", queueVersion.head());
+        assertEquals("y", queueVersion.dequeue().head());
+    }
+
+    /**
+     * Older stack versions are unchanged by pushes and pops on newer ones.
+     */
+    @Test
+    void stackVersionsAreIndependent() throws Exception {
+        PersistentStack empty = PersistentStack.empty();
+        PersistentStack ab = empty.push("a").push("b");
+        PersistentStack abc = ab.push("c");
+        PersistentStack abd = ab.push("d");
+        assertEquals("c", abc.top());
+        assertEquals("d", abd.top());
+        assertEquals("b", ab.top());
+        assertEquals(2, ab.size());
+        assertEquals("a", abc.pop().pop().top());
+        assertTrue(empty.isEmpty());
+        assertThrows(StackEmptyException.class, empty::pop);
+        assertThrows(StackEmptyException.class, empty::top);
+    }
+
+    /**
+     * Older queue versions are unchanged by operations on newer ones.
+     */
+    @Test
+    void queueVersionsAreIndependent() throws Exception {
+        PersistentQueue q = PersistentQueue.empty();
+        for (int i = 1; i <= 5; i++) {
+            q = q.enqueue(i);
+        }
+        PersistentQueue afterTwo = q.dequeue().dequeue();
+        PersistentQueue branch = q.enqueue(6);
+        assertEquals(List.of(1, 2, 3, 4, 5), drain(q));
+        assertEquals(List.of(3, 4, 5), drain(afterTwo));
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), drain(branch));
+        assertThrows(QueueEmptyException.class, PersistentQueue.empty()::head);
+        assertThrows(QueueEmptyException.class, PersistentQueue.empty()::dequeue);
+    }
+
+    /**
+     * Random operations on the persistent queue agree with a mutable model.
+     */
+    @Test
+    void queueMatchesModel() throws Exception {
+        Random random = new Random(7);
+        PersistentQueue q = PersistentQueue.empty();
+        ArrayDeque<Integer> model = new ArrayDeque<>();
+        for (int step = 0; step < 20_000; step++) {
+            if (model.isEmpty() || random.nextInt(3) > 0) {
+                q = q.enqueue(step);
+                model.addLast(step);
+            } else {
+                assertEquals(model.removeFirst(), q.head());
+                q = q.dequeue();
+            }
+            assertEquals(model.size(), q.size());
+        }
+        assertEquals(new ArrayList<Object>(model), drain(q));
+    }
+
+    /**
+     * A snapshot of a versioned stack is unaffected by later changes.
+     */
+    @Test
+    void versionedStackSnapshot() throws Exception {
+        VersionedStack s = new VersionedStack(3);
+        s.push("a");
+        s.push("b");
+        PersistentStack snapshot = s.snapshot();
+        s.pop();
+        s.push("c");
+        s.push("d");
+        assertThrows(StackOverflowException.class, () -> s.push("e"));
+        assertEquals("b", snapshot.top());
+        assertEquals("d", s.pop());
+        assertEquals("c", s.pop());
+        assertEquals("a", s.pop());
+        assertThrows(StackEmptyException.class, s::pop);
+    }
+
+    /**
+     * A snapshot of a versioned queue is unaffected by later changes.
+     */
+    @Test
+    void versionedQueueSnapshot() throws Exception {
+        VersionedQueue q = new VersionedQueue(3);
+        q.enqueue(1);
+        q.enqueue(2);
+        PersistentQueue snapshot = q.snapshot();
+        assertEquals(1, q.dequeue());
+        q.enqueue(3);
+        q.enqueue(4);
+        assertThrows(QueueFullException.class, () -> q.enqueue(5));
+        q.clear();
+        assertTrue(q.isEmpty());
+        assertEquals(List.of(1, 2), drain(snapshot));
+    }
+}
@@ -0,0 +1,214 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+import org.junit.jupiter.api.Test;
+
+import common.AbstractFactoryClient;
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.DoubleStackQueue;
+import impl.QueuePublisher;
+import impl.QueueSubscriber;
+import interfaces.IPublishingQueue;
+
+/**
+ * Tests the Flow publisher and subscriber adapters.
+ */
+public class TestQueueFlow extends AbstractFactoryClient {
+
+    private static final int DEFAULT_MAX_SIZE = 8;
+
+    /**
+     * Records every signal and requests nothing on its own.
+     */
+    private static final class Recorder implements Flow.Subscriber<Object> {
+        private final List<Object> items = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(Object item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    /**
+     * Tests that the factory constructs a non-null object.
+     */
+    @Test
+    public void factoryReturnsNonNullQueuePublisher() {
+        IPublishingQueue queue = getFactory().makeQueuePublisher(DEFAULT_MAX_SIZE);
+        assertNotNull(queue, "Failure: IFactory.makeQueuePublisher returns null, expected non-null object");
+    }
+
+    /**
+     * The publisher delivers exactly as many elements as requested; the rest wait in the queue.
+     */
+    @Test
+    void publisherDeliversExactlyTheDemand() throws Exception {
+        QueuePublisher publisher = new QueuePublisher(new DoubleStackQueue(DEFAULT_MAX_SIZE), 2);
+        Recorder recorder = new Recorder();
+        publisher.subscribe(recorder);
+        for (int i = 0; i < 5; i++) {
+            publisher.enqueue(i);
+        }
+        assertTrue(recorder.items.isEmpty());
+        recorder.subscription.request(3);
+        assertEquals(List.of(0, 1, 2), recorder.items);
+        assertEquals(2, publisher.size());
+        recorder.subscription.request(4);
+        publisher.enqueue(5);
+        publisher.enqueue(6);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), recorder.items);
+        publisher.enqueue(7);
+        assertEquals(7, recorder.items.size());
+        assertEquals(1, publisher.size());
+    }
+
+    /**
+     * Without demand the queue fills and enqueue() pushes back on the producer.
+     */
+    @Test
+    void publisherFullWithoutDemand() throws Exception {
+        QueuePublisher publisher = new QueuePublisher(new DoubleStackQueue(2));
+        publisher.subscribe(new Recorder());
+        publisher.enqueue("a");
+        publisher.enqueue("b");
+        assertThrows(QueueFullException.class, () -> publisher.enqueue("c"));
+    }
+
+    /**
+     * Completion is signalled only after the queued elements have been delivered.
+     */
+    @Test
+    void publisherCompletesAfterDraining() throws Exception {
+        QueuePublisher publisher = new QueuePublisher(new DoubleStackQueue(DEFAULT_MAX_SIZE));
+        Recorder recorder = new Recorder();
+        publisher.subscribe(recorder);
+        publisher.enqueue("a");
+        publisher.complete();
+        assertFalse(recorder.completed);
+        recorder.subscription.request(1);
+        assertEquals(List.of("a"), recorder.items);
+        assertTrue(recorder.completed);
+        assertThrows(IllegalStateException.class, () -> publisher.enqueue("b"));
+    }
+
+    /**
+     * A second subscriber and a non-positive request are both reported through onError.
+     */
+    @Test
+    void publisherSignalsProtocolErrors() throws Exception {
+        QueuePublisher publisher = new QueuePublisher(new DoubleStackQueue(DEFAULT_MAX_SIZE));
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+        assertInstanceOf(IllegalStateException.class, second.error);
+        assertEquals(null, first.error);
+        first.subscription.request(0);
+        assertInstanceOf(IllegalArgumentException.class, first.error);
+    }
+
+    /**
+     * The subscriber requests no more than it can buffer, and tops demand up once half the buffer is free.
+     */
+    @Test
+    void subscriberBoundsDemand() throws Exception {
+        QueuePublisher publisher = new QueuePublisher(new DoubleStackQueue(32));
+        QueueSubscriber subscriber = new QueueSubscriber(4);
+        publisher.subscribe(subscriber);
+        for (int i = 0; i < 10; i++) {
+            publisher.enqueue(i);
+        }
+        assertEquals(4, subscriber.size());
+        assertEquals(6, publisher.size());
+        assertEquals(0, subscriber.dequeue());
+        assertEquals(3, subscriber.size());
+        assertEquals(1, subscriber.dequeue());
+        assertEquals(4, subscriber.size());
+        assertEquals(4, publisher.size());
+    }
+
+    /**
+     * take() ends with QueueEmptyException once the stream completes and the buffer is drained.
+     */
+    @Test
+    void subscriberTakeUntilComplete() throws Exception {
+        QueuePublisher publisher = new QueuePublisher(new DoubleStackQueue(DEFAULT_MAX_SIZE));
+        QueueSubscriber subscriber = new QueueSubscriber(DEFAULT_MAX_SIZE);
+        publisher.subscribe(subscriber);
+        publisher.enqueue("a");
+        publisher.enqueue("b");
+        publisher.complete();
+        assertEquals("a", subscriber.take());
+        assertEquals("b", subscriber.take());
+        assertTrue(subscriber.isDone());
+        assertThrows(QueueEmptyException.class, subscriber::take);
+    }
+
+    /**
+     * A JDK publisher delivering on another thread is consumed through take() without polling.
+     */
+    @Test
+    void subscriberWithSubmissionPublisher() throws Exception {
+        QueueSubscriber subscriber = new QueueSubscriber(16);
+        SubmissionPublisher<Object> publisher = new SubmissionPublisher<>();
+        publisher.subscribe(subscriber);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                publisher.submit(i);
+            }
+            publisher.close();
+        });
+        producer.start();
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i, subscriber.take());
+        }
+        producer.join();
+        assertThrows(QueueEmptyException.class, subscriber::take);
+        assertEquals(null, subscriber.getError());
+    }
+
+    /**
+     * A factory-built publisher can be subscribed to and completed through the interface it is returned as.
+     */
+    @Test
+    void factoryPublisherFeedsSubscriber() throws Exception {
+        IPublishingQueue publisher = getFactory().makeQueuePublisher(DEFAULT_MAX_SIZE);
+        QueueSubscriber subscriber = new QueueSubscriber(DEFAULT_MAX_SIZE);
+        assertThrows(QueueEmptyException.class, subscriber::dequeue);
+        publisher.subscribe(subscriber);
+        publisher.enqueue("a");
+        publisher.complete();
+        assertEquals("a", subscriber.take());
+        assertTrue(subscriber.isDone());
+    }
+}
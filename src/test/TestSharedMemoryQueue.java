@@ -0,0 +1,119 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import common.AbstractFactoryClient;
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.RecordCodecs;
+import impl.SharedMemoryQueue;
+import interfaces.IQueue;
+
+/**
+ * Tests shared-memory queue implementation.
+ */
+public class TestSharedMemoryQueue extends AbstractFactoryClient {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Tests that the factory constructs a non-null object.
+     */
+    @Test
+    public void factoryReturnsNonNullSharedMemoryQueue() {
+        IQueue queue = getFactory().makeSharedMemoryQueue(dir.resolve("q"), 10, RecordCodecs.LONG);
+        assertNotNull(queue, "Failure: IFactory.makeSharedMemoryQueue returns null, expected non-null object");
+    }
+
+    /**
+     * A second mapping of the same file sees what the first one enqueued, in FIFO order, up to capacity.
+     */
+    @Test
+    void separateMappingsShareTheRing() throws Exception {
+        Path file = dir.resolve("ring");
+        try (SharedMemoryQueue producer = new SharedMemoryQueue(file, 3, RecordCodecs.bytes(8));
+             SharedMemoryQueue consumer = new SharedMemoryQueue(file, 3, RecordCodecs.bytes(8))) {
+            for (int round = 0; round < 4; round++) {
+                producer.enqueue(new byte[] {1});
+                producer.enqueue(new byte[] {2, 2});
+                producer.enqueue(new byte[0]);
+                assertThrows(QueueFullException.class, () -> producer.enqueue(new byte[] {4}));
+                assertEquals(3, consumer.size());
+                assertArrayEquals(new byte[] {1}, (byte[]) consumer.dequeue());
+                assertArrayEquals(new byte[] {2, 2}, (byte[]) consumer.dequeue());
+                assertArrayEquals(new byte[0], (byte[]) consumer.dequeue());
+                assertThrows(QueueEmptyException.class, consumer::dequeue);
+            }
+        }
+    }
+
+    /**
+     * Reopening the file attaches to the queued records; a different layout is rejected.
+     */
+    @Test
+    void reopenAttachesOrRejects() throws Exception {
+        Path file = dir.resolve("attach");
+        try (SharedMemoryQueue q = new SharedMemoryQueue(file, 4, RecordCodecs.LONG)) {
+            q.enqueue(7L);
+        }
+        try (SharedMemoryQueue q = new SharedMemoryQueue(file, 4, RecordCodecs.LONG)) {
+            assertEquals(7L, q.dequeue());
+            q.clear();
+            assertTrue(q.isEmpty());
+        }
+        assertThrows(IOException.class, () -> new SharedMemoryQueue(file, 8, RecordCodecs.LONG));
+    }
+
+    /**
+     * A producer thread and a consumer thread on separate mappings transfer a sequence without loss or reordering.
+     */
+    @Test
+    void twoMappingsAcrossThreads() throws Exception {
+        final long count = 50_000;
+        Path file = dir.resolve("threads");
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try (SharedMemoryQueue producer = new SharedMemoryQueue(file, 1024, RecordCodecs.LONG);
+             SharedMemoryQueue consumer = new SharedMemoryQueue(file, 1024, RecordCodecs.LONG)) {
+            Thread thread = new Thread(() -> {
+                for (long i = 0; i < count; i++) {
+                    while (true) {
+                        try {
+                            producer.enqueue(i);
+                            break;
+                        } catch (QueueFullException full) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            thread.start();
+            for (long expected = 0; expected < count; expected++) {
+                while (true) {
+                    try {
+                        Object value = consumer.dequeue();
+                        if (!Long.valueOf(expected).equals(value)) {
+                            failure.compareAndSet(null, new AssertionError("expected " + expected + " got " + value));
+                        }
+                        break;
+                    } catch (QueueEmptyException empty) {
+                        Thread.yield();
+                    }
+                }
+            }
+            thread.join();
+        }
+        assertEquals(null, failure.get());
+    }
+}
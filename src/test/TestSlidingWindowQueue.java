@@ -0,0 +1,117 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import common.AbstractFactoryClient;
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.SlidingWindowQueue;
+import interfaces.IAggregatingQueue;
+
+/**
+ * Tests sliding-window aggregation queue implementation.
+ */
+public class TestSlidingWindowQueue extends AbstractFactoryClient {
+
+    /**
+     * Tests that the factory constructs a non-null object.
+     */
+    @Test
+    public void factoryReturnsNonNullSlidingWindowQueue() {
+        IAggregatingQueue queue = getFactory().makeSlidingWindowQueue(10, (a, b) -> (Integer) a + (Integer) b);
+        assertNotNull(queue, "Failure: IFactory.makeSlidingWindowQueue returns null, expected non-null object");
+    }
+
+    /**
+     * query() is reachable through the interface the factory returns.
+     */
+    @Test
+    void factoryQueueAggregates() throws Exception {
+        IAggregatingQueue queue = getFactory().makeSlidingWindowQueue(10, (a, b) -> (Integer) a + (Integer) b);
+        queue.enqueue(2);
+        queue.enqueue(3);
+        assertEquals(5, queue.query());
+    }
+
+    /**
+     * query() on an empty window throws QueueEmptyException.
+     */
+    @Test
+    void queryEmptyThrows() throws Exception {
+        SlidingWindowQueue q = new SlidingWindowQueue(4, (a, b) -> (Integer) a + (Integer) b);
+        assertThrows(QueueEmptyException.class, q::query);
+        q.enqueue(1);
+        q.dequeue();
+        assertThrows(QueueEmptyException.class, q::query);
+    }
+
+    /**
+     * A rolling maximum follows the window as elements enter and leave.
+     */
+    @Test
+    void rollingMax() throws Exception {
+        SlidingWindowQueue q = new SlidingWindowQueue(3, (a, b) -> Math.max((Integer) a, (Integer) b));
+        int[] values = {5, 1, 3, 2, 8, 1, 1, 1, 4};
+        int[] expected = {5, 5, 5, 3, 8, 8, 8, 1, 4};
+        for (int i = 0; i < values.length; i++) {
+            if (q.size() == 3) {
+                q.dequeue();
+            }
+            q.enqueue(values[i]);
+            assertEquals(expected[i], q.query(), "window ending at index " + i);
+        }
+        assertThrows(QueueFullException.class, () -> q.enqueue(0));
+    }
+
+    /**
+     * A non-commutative combiner sees the elements oldest first.
+     */
+    @Test
+    void combinesInQueueOrder() throws Exception {
+        SlidingWindowQueue q = new SlidingWindowQueue(5, (a, b) -> (String) a + b);
+        q.enqueue("a");
+        q.enqueue("b");
+        q.enqueue("c");
+        assertEquals("abc", q.query());
+        assertEquals("a", q.dequeue());
+        assertEquals("bc", q.query());
+        q.enqueue("d");
+        q.enqueue("e");
+        assertEquals("bcde", q.query());
+        assertEquals("b", q.dequeue());
+        assertEquals("c", q.dequeue());
+        assertEquals("de", q.query());
+        q.clear();
+        q.enqueue("x");
+        assertEquals("x", q.query());
+    }
+
+    /**
+     * Random operations agree with rescanning the window each time.
+     */
+    @Test
+    void matchesRescanOnRandomOperations() throws Exception {
+        Random random = new Random(42);
+        SlidingWindowQueue q = new SlidingWindowQueue(16, (a, b) -> (Integer) a + (Integer) b);
+        ArrayDeque<Integer> model = new ArrayDeque<>();
+        for (int step = 0; step < 5_000; step++) {
+            if (model.size() < 16 && (model.isEmpty() || random.nextBoolean())) {
+                int v = random.nextInt(100);
+                q.enqueue(v);
+                model.addLast(v);
+            } else {
+                assertEquals(model.removeFirst(), q.dequeue());
+            }
+            if (!model.isEmpty()) {
+                assertEquals(model.stream().mapToInt(Integer::intValue).sum(), q.query());
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import common.QueueFullException;
+import impl.DoubleStack;
+import impl.DoubleStackQueue;
+import impl.Serializers;
+import impl.Snapshots;
+import interfaces.IStack;
+
+/**
+ * Tests snapshot and restore of double stacks and double stack queues.
+ */
+public class TestSnapshots {
+
+    private static byte[] snapshot(DoubleStack ds) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Snapshots.write(ds, Channels.newChannel(bytes), Serializers.STRING);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] snapshot(DoubleStackQueue q) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Snapshots.write(q, Channels.newChannel(bytes), Serializers.STRING);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Both stacks of a double stack are restored with their contents and order.
+     */
+    @Test
+    void doubleStackRoundTrip() throws Exception {
+        DoubleStack ds = new DoubleStack(10);
+        ds.getFirstStack().push("a");
+        ds.getFirstStack().push("b");
+        ds.getSecondStack().push("x");
+        ds.getSecondStack().push(null);
+        ds.getSecondStack().push("z");
+
+        DoubleStack copy = Snapshots.readDoubleStack(
+                Channels.newChannel(new ByteArrayInputStream(snapshot(ds))), Serializers.STRING);
+        IStack a = copy.getFirstStack();
+        IStack b = copy.getSecondStack();
+        assertEquals(2, a.size());
+        assertEquals("b", a.pop());
+        assertEquals("a", a.pop());
+        assertEquals("z", b.pop());
+        assertEquals(null, b.pop());
+        assertEquals("x", b.pop());
+        assertTrue(b.isEmpty());
+
+        // Capacity is preserved as well.
+        for (int i = 0; i < 5; i++) {
+            a.push("p" + i);
+        }
+        assertThrows(common.StackOverflowException.class, () -> a.push("overflow"));
+    }
+
+    /**
+     * A queue with elements on both internal stacks restores in FIFO order and keeps its capacity.
+     */
+    @Test
+    void queueRoundTrip() throws Exception {
+        DoubleStackQueue q = new DoubleStackQueue(6);
+        q.enqueue("1");
+        q.enqueue("2");
+        q.enqueue("3");
+        assertEquals("1", q.dequeue()); // 2, 3 now on the output side
+        q.enqueue("4");
+        q.enqueue("5");
+
+        DoubleStackQueue copy = Snapshots.readDoubleStackQueue(
+                Channels.newChannel(new ByteArrayInputStream(snapshot(q))), Serializers.STRING);
+        assertEquals(4, copy.size());
+        copy.enqueue("6");
+        copy.enqueue("7");
+        assertThrows(QueueFullException.class, () -> copy.enqueue("8"));
+        for (int i = 2; i <= 7; i++) {
+            assertEquals(String.valueOf(i), copy.dequeue());
+        }
+        assertTrue(copy.isEmpty());
+    }
+
+    /**
+     * Snapshots larger than the internal buffer stream correctly.
+     */
+    @Test
+    void largeQueueRoundTrip() throws Exception {
+        char[] filler = new char[1000];
+        Arrays.fill(filler, 'q');
+        String big = new String(filler);
+        DoubleStackQueue q = new DoubleStackQueue(500);
+        for (int i = 0; i < 500; i++) {
+            q.enqueue(i + big);
+        }
+        DoubleStackQueue copy = Snapshots.readDoubleStackQueue(
+                Channels.newChannel(new ByteArrayInputStream(snapshot(q))), Serializers.STRING);
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i + big, copy.dequeue());
+        }
+    }
+
+    /**
+     * Restoring a snapshot as the wrong kind, or a truncated one, fails with IOException.
+     */
+    @Test
+    void rejectsMismatchedOrTruncated() throws Exception {
+        DoubleStackQueue q = new DoubleStackQueue(4);
+        q.enqueue("a");
+        byte[] bytes = snapshot(q);
+        assertThrows(IOException.class, () -> Snapshots.readDoubleStack(
+                Channels.newChannel(new ByteArrayInputStream(bytes)), Serializers.STRING));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        assertThrows(IOException.class, () -> Snapshots.readDoubleStackQueue(
+                Channels.newChannel(new ByteArrayInputStream(truncated)), Serializers.STRING));
+    }
+
+    /**
+     * Restoring reads exactly one snapshot, leaving whatever follows it on the channel.
+     */
+    @Test
+    void leavesTrailingDataUnread() throws Exception {
+        DoubleStackQueue q = new DoubleStackQueue(4);
+        q.enqueue("a");
+        q.enqueue("b");
+        DoubleStack ds = new DoubleStack(4);
+        ds.getSecondStack().push("z");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(snapshot(q));
+        stream.write(snapshot(ds));
+        stream.write(new byte[] {1, 2, 3});
+
+        ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(stream.toByteArray()));
+        DoubleStackQueue restored = Snapshots.readDoubleStackQueue(in, Serializers.STRING);
+        assertEquals("a", restored.dequeue());
+        assertEquals("b", restored.dequeue());
+        assertEquals("z", Snapshots.readDoubleStack(in, Serializers.STRING).getSecondStack().pop());
+        ByteBuffer rest = ByteBuffer.allocate(8);
+        assertEquals(3, in.read(rest));
+        assertEquals(2, rest.get(1));
+    }
+}
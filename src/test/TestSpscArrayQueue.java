@@ -0,0 +1,134 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import common.AbstractFactoryClient;
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.SpscArrayQueue;
+import interfaces.IQueue;
+
+/**
+ * Tests single-producer single-consumer queue implementation.
+ */
+public class TestSpscArrayQueue extends AbstractFactoryClient {
+
+    private static final int CACHE_LINE = 64;
+
+    /**
+     * Tests that the factory constructs a non-null object.
+     */
+    @Test
+    public void factoryReturnsNonNullSpscQueue() {
+        IQueue queue = getFactory().makeSpscQueue(10);
+        assertNotNull(queue, "Failure: IFactory.makeSpscQueue returns null, expected non-null object");
+    }
+
+    /**
+     * Capacity is exactly maxSize, also when it is not a power of two.
+     * @param qSize
+     * @throws Exception
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 8, 10})
+    void fillExactlyToCapacityThenRejectNext(int qSize) throws Exception {
+        SpscArrayQueue q = new SpscArrayQueue(qSize);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 1; i <= qSize; i++) {
+                q.enqueue(i);
+            }
+            assertEquals(qSize, q.size());
+            assertThrows(QueueFullException.class, () -> q.enqueue(999));
+            for (int i = 1; i <= qSize; i++) {
+                assertEquals(i, q.dequeue());
+            }
+            assertThrows(QueueEmptyException.class, q::dequeue);
+        }
+    }
+
+    /**
+     * clear() empties the queue and allows subsequent reuse.
+     */
+    @Test
+    void clearAllowsReuse() throws Exception {
+        SpscArrayQueue q = new SpscArrayQueue(4);
+        q.enqueue("A");
+        q.enqueue("B");
+        q.clear();
+        assertTrue(q.isEmpty());
+        q.enqueue("C");
+        assertEquals("C", q.dequeue());
+    }
+
+    /**
+     * A producer and a consumer thread transfer a long sequence without loss or reordering.
+     */
+    @Test
+    void twoThreadsPreserveFifo() throws Exception {
+        final int count = 50_000;
+        SpscArrayQueue q = new SpscArrayQueue(1024);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (true) {
+                    try {
+                        q.enqueue(i);
+                        break;
+                    } catch (QueueFullException full) {
+                        Thread.yield();
+                    }
+                }
+            }
+        });
+        producer.start();
+        for (int expected = 0; expected < count; expected++) {
+            while (true) {
+                try {
+                    Object value = q.dequeue();
+                    if (!Integer.valueOf(expected).equals(value)) {
+                        failure.set(new AssertionError("expected " + expected + " but got " + value));
+                    }
+                    break;
+                } catch (QueueEmptyException empty) {
+                    Thread.yield();
+                }
+            }
+        }
+        producer.join();
+        assertEquals(null, failure.get());
+        assertTrue(q.isEmpty());
+    }
+
+    /**
+     * The head and tail counters lie at least a cache line apart from each other and from the array reference.
+     */
+    @Test
+    void countersAreOnSeparateCacheLines() throws Exception {
+        long head = fieldOffset(Class.forName("impl.SpscConsumerFields").getDeclaredField("head"));
+        long tail = fieldOffset(Class.forName("impl.SpscProducerFields").getDeclaredField("tail"));
+        long buffer = fieldOffset(SpscArrayQueue.class.getDeclaredField("buffer"));
+        assertTrue(Math.abs(head - tail) >= CACHE_LINE, "head/tail offsets " + head + "/" + tail);
+        assertTrue(Math.abs(head - buffer) >= CACHE_LINE, "head/buffer offsets " + head + "/" + buffer);
+        assertTrue(Math.abs(tail - buffer) >= CACHE_LINE, "tail/buffer offsets " + tail + "/" + buffer);
+        assertTrue(tail >= CACHE_LINE, "tail shares a line with the object header at offset " + tail);
+    }
+
+    private static long fieldOffset(Field field) throws Exception {
+        Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+        theUnsafe.setAccessible(true);
+        Method objectFieldOffset = unsafeClass.getMethod("objectFieldOffset", Field.class);
+        return (long) objectFieldOffset.invoke(theUnsafe.get(null), field);
+    }
+}
@@ -0,0 +1,91 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import common.QueueEmptyException;
+import common.StackEmptyException;
+import impl.DoubleStackQueue;
+import impl.Stack;
+import impl.StackCollectors;
+
+/**
+ * Tests the collectors building stacks and queues from streams.
+ */
+public class TestStackCollectors {
+
+    private static final int COUNT = 100_000;
+
+    /**
+     * A parallel stream collects into a stack with the last element on top.
+     */
+    @Test
+    void parallelStreamToStack() throws Exception {
+        Stack stack = IntStream.range(0, COUNT).boxed().parallel().collect(StackCollectors.toStack());
+        assertEquals(COUNT, stack.size());
+        for (int i = COUNT - 1; i >= 0; i--) {
+            assertEquals(i, stack.pop());
+        }
+        assertThrows(StackEmptyException.class, stack::pop);
+    }
+
+    /**
+     * A parallel stream collects into a queue which dequeues in encounter order.
+     */
+    @Test
+    void parallelStreamToQueue() throws Exception {
+        DoubleStackQueue queue = IntStream.range(0, COUNT).boxed().parallel()
+                .collect(StackCollectors.toDoubleStackQueue());
+        assertEquals(COUNT, queue.size());
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(i, queue.dequeue());
+        }
+        assertThrows(QueueEmptyException.class, queue::dequeue);
+    }
+
+    /**
+     * A collected queue with spare capacity keeps FIFO order for later enqueues.
+     */
+    @Test
+    void collectedQueueAcceptsMore() throws Exception {
+        DoubleStackQueue queue = IntStream.range(0, 3).boxed().collect(StackCollectors.toDoubleStackQueue(5));
+        queue.enqueue(3);
+        queue.enqueue(4);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, queue.dequeue());
+        }
+    }
+
+    /**
+     * A collected stack with spare capacity keeps pushing on top of the collected elements.
+     */
+    @Test
+    void collectedStackAcceptsMore() throws Exception {
+        Stack stack = IntStream.range(0, 3).boxed().collect(StackCollectors.toStack(4));
+        stack.push(3);
+        assertEquals(3, stack.pop());
+        assertEquals(2, stack.top());
+    }
+
+    /**
+     * Collecting more elements than the requested capacity fails.
+     */
+    @Test
+    void overCapacityFails() {
+        assertThrows(IllegalStateException.class,
+                () -> IntStream.range(0, 10).boxed().parallel().collect(StackCollectors.toDoubleStackQueue(9)));
+    }
+
+    /**
+     * An empty stream gives an empty stack.
+     */
+    @Test
+    void emptyStream() {
+        assertTrue(IntStream.range(0, 0).boxed().parallel().collect(StackCollectors.toStack()).isEmpty());
+    }
+}
@@ -0,0 +1,158 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import common.AbstractFactoryClient;
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.StripedQueue;
+import interfaces.IQueue;
+
+/**
+ * Tests the striped relaxed-FIFO queue.
+ */
+public class TestStripedQueue extends AbstractFactoryClient {
+
+    private static final int LANES = 4;
+    private static final int DEFAULT_MAX_SIZE = 16;
+    private StripedQueue queue;
+
+    /**
+     * Sets up an empty queue before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        queue = new StripedQueue(LANES, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Tests that the factory constructs a non-null object.
+     */
+    @Test
+    public void factoryReturnsNonNullStripedQueue() {
+        IQueue q = getFactory().makeStripedQueue(LANES, DEFAULT_MAX_SIZE);
+        assertNotNull(q, "Failure: IFactory.makeStripedQueue returns null, expected non-null object");
+    }
+
+    /**
+     * A single uncontended thread stays in its own lane and sees strict FIFO order.
+     */
+    @Test
+    void singleThreadIsFifo() throws Exception {
+        for (int i = 0; i < DEFAULT_MAX_SIZE / LANES; i++) {
+            queue.enqueue(i);
+        }
+        for (int i = 0; i < DEFAULT_MAX_SIZE / LANES; i++) {
+            assertEquals(i, queue.dequeue());
+        }
+        assertThrows(QueueEmptyException.class, queue::dequeue);
+    }
+
+    /**
+     * Once the thread's lane is full, enqueues spill into the other lanes until all of them are full.
+     */
+    @Test
+    void spillsIntoOtherLanes() throws Exception {
+        for (int i = 0; i < DEFAULT_MAX_SIZE; i++) {
+            queue.enqueue(i);
+        }
+        assertEquals(DEFAULT_MAX_SIZE, queue.size());
+        assertThrows(QueueFullException.class, () -> queue.enqueue("x"));
+        BitSet seen = new BitSet();
+        while (!queue.isEmpty()) {
+            seen.set((Integer) queue.dequeue());
+        }
+        assertEquals(DEFAULT_MAX_SIZE, seen.cardinality());
+    }
+
+    /**
+     * The queue holds exactly maxSize elements even when it does not divide over the lanes, and the expected
+     * rank error follows the lane count.
+     */
+    @Test
+    void capacityAndRankError() throws Exception {
+        StripedQueue q = new StripedQueue(3, 10);
+        assertEquals(10, q.capacity());
+        for (int i = 0; i < 10; i++) {
+            q.enqueue(i);
+        }
+        assertThrows(QueueFullException.class, () -> q.enqueue(10));
+        StripedQueue tiny = new StripedQueue(8, 1);
+        tiny.enqueue("a");
+        assertThrows(QueueFullException.class, () -> tiny.enqueue("b"));
+        assertEquals(2, q.expectedRankError());
+        assertEquals(0, new StripedQueue(1, 10).expectedRankError());
+    }
+
+    /**
+     * Clear empties every lane.
+     */
+    @Test
+    void clearEmptiesAllLanes() throws Exception {
+        for (int i = 0; i < DEFAULT_MAX_SIZE; i++) {
+            queue.enqueue(i);
+        }
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        queue.enqueue("a");
+        assertEquals("a", queue.dequeue());
+    }
+
+    /**
+     * Concurrent producers and consumers deliver every element exactly once.
+     */
+    @Test
+    void concurrentProducersAndConsumers() throws Exception {
+        int producers = 3;
+        int perProducer = 20_000;
+        StripedQueue q = new StripedQueue(LANES, 1024);
+        BitSet seen = new BitSet();
+        Thread[] threads = new Thread[producers + 1];
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (true) {
+                        try {
+                            q.enqueue(base + i);
+                            break;
+                        } catch (QueueFullException full) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+        }
+        threads[producers] = new Thread(() -> {
+            for (int i = 0; i < producers * perProducer; i++) {
+                while (true) {
+                    try {
+                        int value = (Integer) q.dequeue();
+                        synchronized (seen) {
+                            seen.set(value);
+                        }
+                        break;
+                    } catch (QueueEmptyException empty) {
+                        Thread.yield();
+                    }
+                }
+            }
+        });
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(producers * perProducer, seen.cardinality());
+        assertTrue(q.isEmpty());
+    }
+}
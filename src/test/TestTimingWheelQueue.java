@@ -0,0 +1,205 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import common.AbstractFactoryClient;
+import common.QueueEmptyException;
+import common.QueueFullException;
+import impl.TimingWheelQueue;
+import interfaces.IScheduledQueue;
+
+/**
+ * Tests the timing wheel scheduled queue against a manual clock.
+ */
+public class TestTimingWheelQueue extends AbstractFactoryClient {
+
+    private static final int DEFAULT_MAX_SIZE = 16;
+    private static final long TICK = 10;
+    private long now;
+    private TimingWheelQueue queue;
+
+    /**
+     * Sets up an empty queue on a manual clock before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        now = 0;
+        queue = new TimingWheelQueue(DEFAULT_MAX_SIZE, TICK, () -> now);
+    }
+
+    /**
+     * Tests that the factory constructs a non-null object.
+     */
+    @Test
+    public void factoryReturnsNonNullTimingWheelQueue() {
+        IScheduledQueue q = getFactory().makeTimingWheelQueue(DEFAULT_MAX_SIZE, 1_000_000);
+        assertNotNull(q, "Failure: IFactory.makeTimingWheelQueue returns null, expected non-null object");
+    }
+
+    /**
+     * An element with no delay is available at once.
+     */
+    @Test
+    void undelayedIsImmediate() throws Exception {
+        queue.enqueue("a");
+        assertEquals(1, queue.size());
+        assertEquals(0, queue.scheduledSize());
+        assertEquals("a", queue.dequeue());
+    }
+
+    /**
+     * A delayed element becomes available at the first tick after its delay, not before.
+     */
+    @Test
+    void delayedBecomesDueAtTick() throws Exception {
+        queue.enqueue("b", 25);
+        assertEquals(1, queue.scheduledSize());
+        now = 29;
+        assertThrows(QueueEmptyException.class, queue::dequeue);
+        assertFalse(queue.isEmpty());
+        now = 30;
+        assertEquals("b", queue.dequeue());
+        assertTrue(queue.isEmpty());
+    }
+
+    /**
+     * Elements come out in deadline order across ticks, whatever order they were enqueued in.
+     */
+    @Test
+    void deadlineOrder() throws Exception {
+        queue.enqueue("late", 500);
+        queue.enqueue("early", 50);
+        queue.enqueue("middle", 200);
+        StringBuilder order = new StringBuilder();
+        for (now = 0; now <= 500; now += TICK) {
+            while (true) {
+                try {
+                    order.append(queue.dequeue()).append(' ');
+                } catch (QueueEmptyException e) {
+                    break;
+                }
+            }
+        }
+        assertEquals("early middle late ", order.toString());
+    }
+
+    /**
+     * Random delays spanning several wheel levels are never served early and at most one tick late.
+     */
+    @Test
+    void precisionAcrossLevels() throws Exception {
+        TimingWheelQueue q = new TimingWheelQueue(2048, TICK, () -> now);
+        Random random = new Random(5);
+        Map<Integer, Long> due = new HashMap<>();
+        now = 3;
+        for (int i = 0; i < 2000; i++) {
+            long delay = random.nextInt(300_000);
+            q.enqueue(i, delay);
+            due.put(i, now + delay);
+        }
+        while (!due.isEmpty()) {
+            now += TICK - now % TICK;
+            while (true) {
+                Integer element;
+                try {
+                    element = (Integer) q.dequeue();
+                } catch (QueueEmptyException e) {
+                    break;
+                }
+                long lateness = now - due.remove(element);
+                assertTrue(lateness >= 0 && lateness < TICK, "element " + element + " late by " + lateness);
+            }
+        }
+    }
+
+    /**
+     * A queue kept full, with every freed slot refilled at once, still serves each element on time and
+     * reuses its entries without losing any.
+     */
+    @Test
+    void steadyStateAtFullCapacity() throws Exception {
+        TimingWheelQueue q = new TimingWheelQueue(8, TICK, () -> now);
+        Random random = new Random(7);
+        Map<Integer, Long> due = new HashMap<>();
+        int next = 0;
+        for (int step = 0; step < 5000; step++) {
+            while (q.size() < 8) {
+                long delay = random.nextInt(50_000);
+                q.enqueue(next, delay);
+                due.put(next++, now + delay);
+            }
+            assertThrows(QueueFullException.class, () -> q.enqueue(-1, 1));
+            now += TICK;
+            while (true) {
+                Integer element;
+                try {
+                    element = (Integer) q.dequeue();
+                } catch (QueueEmptyException e) {
+                    break;
+                }
+                long lateness = now - due.remove(element);
+                assertTrue(lateness >= 0 && lateness < TICK, "element " + element + " late by " + lateness);
+            }
+        }
+        assertEquals(8, due.size());
+        assertEquals(8, q.size());
+    }
+
+    /**
+     * A delay beyond the wheel's horizon still comes due on time.
+     */
+    @Test
+    void beyondHorizon() throws Exception {
+        TimingWheelQueue q = new TimingWheelQueue(4, 1, () -> now);
+        long delay = (1L << 24) + 5;
+        q.enqueue("far", delay);
+        now = delay - 1;
+        assertThrows(QueueEmptyException.class, q::dequeue);
+        now = delay;
+        assertEquals("far", q.dequeue());
+    }
+
+    /**
+     * A delay too large to add to the current time saturates instead of wrapping round to the past.
+     */
+    @Test
+    void hugeDelaySaturates() throws Exception {
+        now = 5000;
+        queue.enqueue("never", Long.MAX_VALUE);
+        assertThrows(QueueEmptyException.class, queue::dequeue);
+        assertEquals(1, queue.scheduledSize());
+        now = 1_000_000;
+        assertThrows(QueueEmptyException.class, queue::dequeue);
+    }
+
+    /**
+     * Scheduled and due elements share the capacity, and clear() frees it.
+     */
+    @Test
+    void capacityAndClear() throws Exception {
+        TimingWheelQueue q = new TimingWheelQueue(2, TICK, () -> now);
+        q.enqueue("a", 100);
+        q.enqueue("b");
+        assertThrows(QueueFullException.class, () -> q.enqueue("c", 5));
+        q.clear();
+        assertTrue(q.isEmpty());
+        q.enqueue("d", 1000);
+        q.enqueue("e", 1000);
+        now = 1000;
+        assertEquals(2, q.size());
+        q.dequeue();
+        q.dequeue();
+        assertThrows(QueueEmptyException.class, q::dequeue);
+    }
+}
@@ -0,0 +1,112 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import common.AbstractFactoryClient;
+import common.StackEmptyException;
+import impl.UndoHistory;
+import interfaces.IUndoHistory;
+
+/**
+ * Tests bounded undo/redo history implementation.
+ */
+public class TestUndoHistory extends AbstractFactoryClient {
+
+    private static final int DEFAULT_MAX_SIZE = 4;
+    private UndoHistory history;
+
+    /**
+     * Sets up a fresh history before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        history = new UndoHistory(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Tests that the factory constructs a non-null object.
+     */
+    @Test
+    public void factoryReturnsNonNullUndoHistory() {
+        IUndoHistory h = getFactory().makeUndoHistory(DEFAULT_MAX_SIZE);
+        assertNotNull(h, "Failure: IFactory.makeUndoHistory returns null, expected non-null object");
+    }
+
+    /**
+     * Undo and redo walk back and forth through the recorded edits.
+     */
+    @Test
+    void undoThenRedo() throws Exception {
+        history.record("a");
+        history.record("b");
+        history.record("c");
+        assertEquals("c", history.undo());
+        assertEquals("b", history.undo());
+        assertEquals(1, history.undoSize());
+        assertEquals(2, history.redoSize());
+        assertEquals("b", history.peekRedo());
+        assertEquals("b", history.redo());
+        assertEquals("c", history.redo());
+        assertThrows(StackEmptyException.class, history::redo);
+        assertEquals("c", history.peekUndo());
+    }
+
+    /**
+     * Recording a new edit clears the redo side.
+     */
+    @Test
+    void recordClearsRedo() throws Exception {
+        history.record("a");
+        history.record("b");
+        history.undo();
+        history.record("x");
+        assertEquals(0, history.redoSize());
+        assertThrows(StackEmptyException.class, history::redo);
+        assertEquals("x", history.undo());
+        assertEquals("a", history.undo());
+        assertThrows(StackEmptyException.class, history::undo);
+    }
+
+    /**
+     * When full, recording evicts the oldest edit instead of overflowing, repeatedly around the ring.
+     */
+    @Test
+    void fullHistoryEvictsOldest() throws Exception {
+        for (int i = 1; i <= 10; i++) {
+            history.record(i);
+        }
+        assertEquals(DEFAULT_MAX_SIZE, history.undoSize());
+        assertEquals(6, history.evictedCount());
+        assertEquals(10, history.undo());
+        assertEquals(9, history.undo());
+        history.record(11);
+        history.record(12);
+        history.record(13);
+        assertEquals(13, history.undo());
+        assertEquals(12, history.undo());
+        assertEquals(11, history.undo());
+        assertEquals(8, history.undo()); // 7 was evicted by 13
+        assertThrows(StackEmptyException.class, history::undo);
+        assertEquals(8, history.redo());
+    }
+
+    /**
+     * clear() empties both sides and the history remains usable.
+     */
+    @Test
+    void clearAllowsReuse() throws Exception {
+        history.record("a");
+        history.record("b");
+        history.undo();
+        history.clear();
+        assertEquals(0, history.undoSize());
+        assertEquals(0, history.redoSize());
+        history.record("c");
+        assertEquals("c", history.undo());
+    }
+}
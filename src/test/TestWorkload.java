@@ -0,0 +1,92 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bench.Workload;
+
+/**
+ * Tests the parsing of load generator trace files.
+ */
+public class TestWorkload {
+
+    private Path file;
+
+    /**
+     * Creates an empty trace file before each test.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("trace", ".txt");
+    }
+
+    /**
+     * Deletes the trace file after each test.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private Workload[] trace(int threads, String... lines) throws IOException {
+        Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        return Workload.trace(file, threads);
+    }
+
+    /**
+     * Each line gives an offset and an operation; comments and blank lines are skipped, and lines without a
+     * thread column are dealt out in turn.
+     */
+    @Test
+    void lineFormat() throws Exception {
+        Workload[] workloads = trace(2, "# offset op", "0 enqueue", "", "  100   pop  ", "-1 push", "250 dequeue");
+        assertEquals(2, workloads[0].size());
+        assertEquals(2, workloads[1].size());
+        assertTrue(workloads[0].isInsert(0));
+        assertEquals(0, workloads[0].due(0));
+        assertFalse(workloads[1].isInsert(0));
+        assertEquals(100, workloads[1].due(0));
+        assertTrue(workloads[0].isInsert(1));
+        assertEquals(Workload.UNSCHEDULED, workloads[0].due(1));
+        assertFalse(workloads[1].isInsert(1));
+        assertEquals(250, workloads[1].due(1));
+    }
+
+    /**
+     * A thread column picks the thread modulo the thread count, and does not disturb the turn-taking of the
+     * lines without one.
+     */
+    @Test
+    void threadColumn() throws Exception {
+        Workload[] workloads = trace(3, "10 push 2", "20 push 5", "30 pop -1", "40 pop");
+        assertEquals(1, workloads[0].size());
+        assertEquals(40, workloads[0].due(0));
+        assertEquals(0, workloads[1].size());
+        assertEquals(3, workloads[2].size());
+        assertEquals(10, workloads[2].due(0));
+        assertEquals(20, workloads[2].due(1));
+        assertEquals(30, workloads[2].due(2));
+    }
+
+    /**
+     * Malformed lines are reported with the file and line number.
+     */
+    @Test
+    void malformedLines() {
+        for (String line : new String[] {"enqueue", "0 enqueue 1 2", "0 peek", "soon pop", "0 pop first"}) {
+            IOException e = assertThrows(IOException.class, () -> trace(1, "0 push", line), line);
+            assertTrue(e.getMessage().startsWith(file + ":2: "), e.getMessage());
+        }
+    }
+}